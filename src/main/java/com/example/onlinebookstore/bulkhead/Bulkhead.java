@@ -0,0 +1,40 @@
+package com.example.onlinebookstore.bulkhead;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+
+public class Bulkhead {
+    @Getter
+    private final Workload workload;
+    @Getter
+    private final List<String> patterns;
+    private final Semaphore permits;
+    private final long maxWaitNanos;
+
+    public Bulkhead(Workload workload, List<String> patterns, int maxConcurrentCalls,
+                    Duration maxWait) {
+        this.workload = workload;
+        this.patterns = List.copyOf(patterns);
+        this.permits = new Semaphore(maxConcurrentCalls);
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public boolean tryAcquire() {
+        if (maxWaitNanos <= 0) {
+            return permits.tryAcquire();
+        }
+        try {
+            return permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
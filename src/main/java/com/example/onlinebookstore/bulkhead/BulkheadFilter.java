@@ -0,0 +1,56 @@
+package com.example.onlinebookstore.bulkhead;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@RequiredArgsConstructor
+public class BulkheadFilter extends OncePerRequestFilter {
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Bulkhead> bulkheads;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        Bulkhead bulkhead = findBulkhead(request.getServletPath());
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (!bulkhead.tryAcquire()) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            return;
+        }
+        WorkloadContext.set(bulkhead.getWorkload());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            WorkloadContext.clear();
+            bulkhead.release();
+        }
+    }
+
+    private Bulkhead findBulkhead(String path) {
+        for (Bulkhead bulkhead : bulkheads) {
+            for (String pattern : bulkhead.getPatterns()) {
+                if (pathMatcher.match(pattern, path)) {
+                    return bulkhead;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.bulkhead;
+
+public enum Workload {
+    CHECKOUT,
+    CATALOG
+}
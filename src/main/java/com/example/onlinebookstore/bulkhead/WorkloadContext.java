@@ -0,0 +1,20 @@
+package com.example.onlinebookstore.bulkhead;
+
+public final class WorkloadContext {
+    private static final ThreadLocal<Workload> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static Workload get() {
+        return CURRENT.get();
+    }
+
+    public static void set(Workload workload) {
+        CURRENT.set(workload);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.onlinebookstore.config;
+
+import com.example.onlinebookstore.bulkhead.Bulkhead;
+import com.example.onlinebookstore.bulkhead.BulkheadFilter;
+import java.util.List;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(name = "bulkhead.enabled", havingValue = "true")
+@EnableConfigurationProperties(BulkheadProperties.class)
+public class BulkheadConfig {
+    @Bean
+    public FilterRegistrationBean<BulkheadFilter> bulkheadFilter(BulkheadProperties properties) {
+        List<Bulkhead> bulkheads = properties.getWorkloads().entrySet().stream()
+                .map(entry -> new Bulkhead(entry.getKey(), entry.getValue().getPatterns(),
+                        entry.getValue().getMaxConcurrentCalls(),
+                        entry.getValue().getMaxWait()))
+                .toList();
+        FilterRegistrationBean<BulkheadFilter> registration =
+                new FilterRegistrationBean<>(new BulkheadFilter(bulkheads));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 10);
+        return registration;
+    }
+}
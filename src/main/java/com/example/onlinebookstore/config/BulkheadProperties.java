@@ -0,0 +1,27 @@
+package com.example.onlinebookstore.config;
+
+import com.example.onlinebookstore.bulkhead.Workload;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "bulkhead")
+public class BulkheadProperties {
+    private boolean enabled;
+    private Map<Workload, Compartment> workloads = new EnumMap<>(Workload.class);
+
+    @Getter
+    @Setter
+    public static class Compartment {
+        private int maxConcurrentCalls;
+        private Duration maxWait = Duration.ZERO;
+        private List<String> patterns = new ArrayList<>();
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.onlinebookstore.config;
+
+import com.example.onlinebookstore.datasource.ReadWriteRoutingDataSource;
+import com.example.onlinebookstore.datasource.ReplicaStickiness;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@ConditionalOnExpression("${datasource.routing.enabled:false}"
+        + " or ${datasource.routing.checkout-pool-size:10} > 0")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+    private final ReplicaStickiness replicaStickiness;
+
+    public DataSourceRoutingConfig(DataSourceRoutingProperties routingProperties) {
+        this.replicaStickiness = new ReplicaStickiness(routingProperties.getStickinessWindow(),
+                routingProperties.getStickyWritePaths());
+    }
+
+    @Bean
+    public ReplicaStickiness replicaStickiness() {
+        return replicaStickiness;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 DataSourceRoutingProperties routingProperties) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        primary.setPoolName("primary");
+        // the checkout pool is part of the bulkhead and stays on without replica routing
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.isEnabled()
+                ? routingProperties.getReplicas()
+                : List.of();
+        List<DataSource> replicas = IntStream.range(0, replicaProperties.size())
+                .mapToObj(i -> createReplica(dataSourceProperties, replicaProperties.get(i),
+                        "replica-" + i))
+                .toList();
+        HikariDataSource checkout = null;
+        if (routingProperties.getCheckoutPoolSize() > 0) {
+            checkout = dataSourceProperties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .build();
+            checkout.setPoolName("checkout");
+            checkout.setMaximumPoolSize(routingProperties.getCheckoutPoolSize());
+        }
+        ReadWriteRoutingDataSource routingDataSource =
+                new ReadWriteRoutingDataSource(primary, checkout, replicas, replicaStickiness);
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredStickiness() {
+        replicaStickiness.evictExpired();
+    }
+
+    private DataSource createReplica(DataSourceProperties dataSourceProperties,
+                                     DataSourceRoutingProperties.Replica replica,
+                                     String poolName) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername());
+        dataSource.setPassword(replica.getPassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.onlinebookstore.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+    private boolean enabled;
+    private Duration stickinessWindow = Duration.ofSeconds(5);
+    private List<String> stickyWritePaths = List.of("/cart/**", "/orders/**");
+    private int checkoutPoolSize = 10;
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
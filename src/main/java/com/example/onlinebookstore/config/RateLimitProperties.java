@@ -0,0 +1,29 @@
+package com.example.onlinebookstore.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private long maxBuckets = 100_000;
+    private Duration idleTimeout = Duration.ofMinutes(10);
+    private List<Route> routes = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Route {
+        private String method;
+        private String pattern;
+        private boolean keyedByIp;
+        private long capacity;
+        private long refillTokens;
+        private Duration refillPeriod = Duration.ofSeconds(1);
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.onlinebookstore.config;
+
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SalesWindowConverter implements Converter<String, SalesWindow> {
+    @Override
+    public SalesWindow convert(String source) {
+        return SalesWindow.fromValue(source.trim());
+    }
+}
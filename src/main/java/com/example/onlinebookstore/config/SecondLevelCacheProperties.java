@@ -0,0 +1,14 @@
+package com.example.onlinebookstore.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "second-level-cache")
+public class SecondLevelCacheProperties {
+    private Map<String, Long> regions = new LinkedHashMap<>();
+}
@@ -1,7 +1,14 @@
 package com.example.onlinebookstore.config;
 
+import com.example.onlinebookstore.security.IdempotencyFilter;
 import com.example.onlinebookstore.security.JwtAuthenticationFilter;
+import com.example.onlinebookstore.security.RateLimitFilter;
+import com.example.onlinebookstore.security.RateLimiter;
+import com.example.onlinebookstore.service.idempotency.IdempotencyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,22 +22,33 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 @RequiredArgsConstructor
 @Configuration
 @EnableMethodSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
     private final UserDetailsService userDetailsService;
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    private final RateLimiter rateLimiter;
+
+    private final IdempotencyService idempotencyService;
+
     @Bean
     public PasswordEncoder passwordEncoder() {
         return new BCryptPasswordEncoder();
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            @Value("${idempotency.max-body-size}") DataSize maxIdempotentBodySize
+    ) throws Exception {
         return http
                 .cors(AbstractHttpConfigurer::disable)
                 .csrf(AbstractHttpConfigurer::disable)
@@ -45,6 +63,10 @@ public class SecurityConfig {
                         SessionCreationPolicy.STATELESS))
                 .addFilterBefore(jwtAuthenticationFilter,
                         UsernamePasswordAuthenticationFilter.class)
+                .addFilterAfter(new RateLimitFilter(rateLimiter), JwtAuthenticationFilter.class)
+                .addFilterAfter(new IdempotencyFilter(idempotencyService, exceptionResolver,
+                                Math.toIntExact(maxIdempotentBodySize.toBytes())),
+                        RateLimitFilter.class)
                 .userDetailsService(userDetailsService)
                 .build();
     }
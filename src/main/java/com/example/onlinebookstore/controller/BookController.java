@@ -1,8 +1,14 @@
 package com.example.onlinebookstore.controller;
 
+import com.example.onlinebookstore.dto.book.BookCategoryFilter;
 import com.example.onlinebookstore.dto.book.BookDto;
+import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.dto.book.TopSellerDto;
 import com.example.onlinebookstore.service.book.BookService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,6 +25,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -30,9 +37,13 @@ public class BookController {
     private final BookService bookService;
 
     @GetMapping
-    @Operation(summary = "Get all books", description = "Get a list of all books")
-    public List<BookDto> getAll(Pageable pageable) {
-        return bookService.findAll(pageable);
+    @Operation(summary = "Get all books", description = "Get a list of all books, optionally"
+            + " filtered by categories (allCategories, anyCategories, excludedCategories)")
+    public List<BookDto> getAll(BookCategoryFilter categoryFilter, Pageable pageable) {
+        if (categoryFilter.isEmpty()) {
+            return bookService.findAll(pageable);
+        }
+        return bookService.findAllByCategories(categoryFilter, pageable);
     }
 
     @GetMapping("/{id}")
@@ -66,9 +77,42 @@ public class BookController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search book for parameters",
-            description = "Search book for parameters(title, author)")
-    public List<BookDto> search(BookSearchParameters searchParameters) {
-        return bookService.search(searchParameters);
+    @Operation(summary = "Search book for parameters", description = "Search book for"
+            + " parameters(title, author, isbn, category, price range)")
+    public List<BookDto> search(BookSearchParameters searchParameters, Pageable pageable) {
+        return bookService.search(searchParameters, pageable);
+    }
+
+    @GetMapping("/search/facets")
+    @Operation(summary = "Get search facets", description = "Get book counts per category,"
+            + " author and price bucket for the search parameters")
+    public BookFacetsDto getSearchFacets(BookSearchParameters searchParameters) {
+        return bookService.getSearchFacets(searchParameters);
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest titles and authors", description = "Get the most popular"
+            + " titles and authors starting with the typed prefix")
+    public List<BookSuggestionDto> suggest(@RequestParam("q") String query,
+                                           @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(query, limit);
+    }
+
+    @GetMapping("/{id}/related")
+    @Operation(summary = "Get related books", description = "Get books most often bought"
+            + " together with the book")
+    public List<BookDtoWithoutCategoryIds> getRelatedBooks(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookService.findRelated(id, limit);
+    }
+
+    @GetMapping("/top")
+    @Operation(summary = "Get top sellers", description = "Get the best selling books for the"
+            + " sliding window (24h, 7d or all)")
+    public List<TopSellerDto> getTopSellers(
+            @RequestParam(defaultValue = "24h") SalesWindow window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookService.findTopSellers(window, limit);
     }
 }
@@ -0,0 +1,37 @@
+package com.example.onlinebookstore.controller;
+
+import com.example.onlinebookstore.dto.cache.CacheRegionStatisticsDto;
+import com.example.onlinebookstore.dto.cache.SingleFlightStatisticsDto;
+import com.example.onlinebookstore.service.cache.CacheStatisticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Cache statistics", description = "Endpoints for monitoring caches")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/cache")
+public class CacheStatisticsController {
+    private final CacheStatisticsService cacheStatisticsService;
+
+    @GetMapping("/regions")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get cache region statistics",
+            description = "Get hit, miss and put counts of every second-level cache region")
+    public List<CacheRegionStatisticsDto> getRegionStatistics() {
+        return cacheStatisticsService.getRegionStatistics();
+    }
+
+    @GetMapping("/single-flight")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get request coalescing statistics",
+            description = "Get how many catalog loads ran and how many were deduplicated")
+    public SingleFlightStatisticsDto getSingleFlightStatistics() {
+        return cacheStatisticsService.getSingleFlightStatistics();
+    }
+}
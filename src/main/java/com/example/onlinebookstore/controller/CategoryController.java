@@ -1,6 +1,8 @@
 package com.example.onlinebookstore.controller;
 
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.dto.book.TopSellerDto;
 import com.example.onlinebookstore.dto.category.CategoryDto;
 import com.example.onlinebookstore.service.book.BookService;
 import com.example.onlinebookstore.service.category.CategoryService;
@@ -19,6 +21,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -73,4 +76,14 @@ public class CategoryController {
     public List<BookDtoWithoutCategoryIds> getBooksByCategoryId(@PathVariable Long id) {
         return bookService.findAllByCategoryId(id);
     }
+
+    @GetMapping("/{id}/top")
+    @Operation(summary = "Get top sellers by category", description = "Get the best selling"
+            + " books of the category for the sliding window (24h, 7d or all)")
+    public List<TopSellerDto> getTopSellersByCategoryId(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "24h") SalesWindow window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return bookService.findTopSellersByCategoryId(id, window, limit);
+    }
 }
@@ -1,7 +1,10 @@
 package com.example.onlinebookstore.controller;
 
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateDto;
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateResponseDto;
 import com.example.onlinebookstore.dto.order.OrderRequestDto;
 import com.example.onlinebookstore.dto.order.OrderResponseDto;
+import com.example.onlinebookstore.dto.order.OrderSummaryPageDto;
 import com.example.onlinebookstore.dto.order.OrderUpdateStatusDto;
 import com.example.onlinebookstore.dto.orderitem.OrderItemResponseDto;
 import com.example.onlinebookstore.model.User;
@@ -9,6 +12,7 @@ import com.example.onlinebookstore.service.order.OrderService;
 import com.example.onlinebookstore.service.orderitem.OrderItemService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
@@ -46,6 +50,13 @@ public class OrderController {
         return orderService.findAll((User) authentication.getPrincipal(), pageable);
     }
 
+    @GetMapping("/summary")
+    @Operation(summary = "Get order summaries",
+            description = "Get a page of order dates, totals, statuses and item counts")
+    public OrderSummaryPageDto getSummaries(Authentication authentication, Pageable pageable) {
+        return orderService.findSummaries((User) authentication.getPrincipal(), pageable);
+    }
+
     @GetMapping("/{orderId}/items")
     @Operation(summary = "Get all by order item", description = "Get a list of all order item")
     public List<OrderItemResponseDto> getAllByOrderItem(Authentication authentication,
@@ -71,4 +82,15 @@ public class OrderController {
                                                   OrderUpdateStatusDto orderUpdateStatusDto) {
         return orderService.updateOrderStatusById(orderId, orderUpdateStatusDto);
     }
+
+    @ResponseStatus(HttpStatus.OK)
+    @PatchMapping("/status")
+    @Operation(summary = "Bulk update status",
+            description = "Update status of orders selected by ids or by status and date range;"
+                    + " per-order results are returned only for ids")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    public OrderBulkStatusUpdateResponseDto updateOrderStatuses(
+            @RequestBody @Valid OrderBulkStatusUpdateDto requestDto) {
+        return orderService.updateOrderStatuses(requestDto);
+    }
 }
@@ -0,0 +1,79 @@
+package com.example.onlinebookstore.controller;
+
+import com.example.onlinebookstore.dto.analytics.BookUnitsDto;
+import com.example.onlinebookstore.dto.analytics.CategorySalesDto;
+import com.example.onlinebookstore.dto.analytics.DailyRevenueDto;
+import com.example.onlinebookstore.dto.analytics.OrderStatusCountDto;
+import com.example.onlinebookstore.service.analytics.SalesAnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Sales analytics", description = "Endpoints for sales reports built from rollups")
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/analytics")
+public class SalesAnalyticsController {
+    private final SalesAnalyticsService salesAnalyticsService;
+
+    @GetMapping("/revenue")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get daily revenue",
+            description = "Get orders, units and revenue per day in the date range")
+    public List<DailyRevenueDto> getDailyRevenue(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getDailyRevenue(from, to);
+    }
+
+    @GetMapping("/categories")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get sales per category",
+            description = "Get units and revenue per category in the date range")
+    public List<CategorySalesDto> getCategorySales(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getCategorySales(from, to);
+    }
+
+    @GetMapping("/statuses")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get orders per status",
+            description = "Get the number of orders per status placed in the date range")
+    public List<OrderStatusCountDto> getStatusCounts(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return salesAnalyticsService.getStatusCounts(from, to);
+    }
+
+    @GetMapping("/books")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @Operation(summary = "Get units sold per book",
+            description = "Get the best selling books by units in the date range")
+    public List<BookUnitsDto> getBookUnits(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "20") int limit) {
+        return salesAnalyticsService.getBookUnits(from, to, limit);
+    }
+
+    @PostMapping("/backfill")
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Operation(summary = "Rebuild sales rollups",
+            description = "Recompute the daily revenue, category and status rollups from orders")
+    public void backfill() {
+        salesAnalyticsService.backfill();
+    }
+}
@@ -2,6 +2,7 @@ package com.example.onlinebookstore.controller;
 
 import com.example.onlinebookstore.dto.cartitem.CartItemDto;
 import com.example.onlinebookstore.dto.cartitem.CartItemUpdateRequestDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import com.example.onlinebookstore.model.User;
 import com.example.onlinebookstore.service.cartitem.CartItemService;
@@ -44,6 +45,12 @@ public class ShoppingCartController {
         return shoppingCartService.findByUser((User) authentication.getPrincipal());
     }
 
+    @GetMapping("/badge")
+    @Operation(summary = "Get cart badge", description = "Get item count and total of users cart")
+    public CartBadgeDto getCartBadge(Authentication authentication) {
+        return shoppingCartService.getBadge((User) authentication.getPrincipal());
+    }
+
     @ResponseStatus(HttpStatus.OK)
     @PutMapping("/cart-items/{id}")
     @Operation(summary = "Update quantity", description = "Update quantity from cart item")
@@ -0,0 +1,88 @@
+package com.example.onlinebookstore.datasource;
+
+import com.example.onlinebookstore.bulkhead.Workload;
+import com.example.onlinebookstore.bulkhead.WorkloadContext;
+import com.example.onlinebookstore.model.User;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+    private static final String PRIMARY_KEY = "primary";
+    private static final String CHECKOUT_KEY = "checkout";
+    private static final String REPLICA_KEY_PREFIX = "replica-";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReplicaStickiness stickiness;
+    private final boolean checkoutPoolPresent;
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      List<DataSource> replicas,
+                                      ReplicaStickiness stickiness) {
+        this(primary, null, replicas, stickiness);
+    }
+
+    public ReadWriteRoutingDataSource(DataSource primary,
+                                      DataSource checkout,
+                                      List<DataSource> replicas,
+                                      ReplicaStickiness stickiness) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        targetDataSources.put(PRIMARY_KEY, primary);
+        if (checkout != null) {
+            targetDataSources.put(CHECKOUT_KEY, checkout);
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = REPLICA_KEY_PREFIX + i;
+            targetDataSources.put(key, replicas.get(i));
+            replicaKeys.add(key);
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+        this.stickiness = stickiness;
+        this.checkoutPoolPresent = checkout != null;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Long userId = getCurrentUserId();
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly && userId != null
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && isTrackedWriteRequest()) {
+            stickiness.recordWrite(userId);
+        }
+        if (checkoutPoolPresent && WorkloadContext.get() == Workload.CHECKOUT) {
+            return CHECKOUT_KEY;
+        }
+        if (!readOnly || replicaKeys.isEmpty()
+                || (userId != null && stickiness.isSticky(userId))) {
+            return PRIMARY_KEY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    private boolean isTrackedWriteRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes
+                && stickiness.tracksWritesTo(servletAttributes.getRequest().getServletPath());
+    }
+
+    private Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return user.getId();
+        }
+        return null;
+    }
+}
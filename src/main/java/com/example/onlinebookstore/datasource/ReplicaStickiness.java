@@ -0,0 +1,45 @@
+package com.example.onlinebookstore.datasource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+public class ReplicaStickiness {
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<Long, Long> stickyUntilByUserId = new ConcurrentHashMap<>();
+    private final long windowNanos;
+    private final List<String> writePaths;
+
+    public ReplicaStickiness(Duration window, List<String> writePaths) {
+        this.windowNanos = window.toNanos();
+        this.writePaths = List.copyOf(writePaths);
+    }
+
+    public boolean tracksWritesTo(String path) {
+        return writePaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    public void recordWrite(Long userId) {
+        stickyUntilByUserId.put(userId, System.nanoTime() + windowNanos);
+    }
+
+    public boolean isSticky(Long userId) {
+        Long stickyUntil = stickyUntilByUserId.get(userId);
+        if (stickyUntil == null) {
+            return false;
+        }
+        if (stickyUntil - System.nanoTime() > 0) {
+            return true;
+        }
+        stickyUntilByUserId.remove(userId, stickyUntil);
+        return false;
+    }
+
+    public void evictExpired() {
+        long now = System.nanoTime();
+        stickyUntilByUserId.values().removeIf(stickyUntil -> stickyUntil - now <= 0);
+    }
+}
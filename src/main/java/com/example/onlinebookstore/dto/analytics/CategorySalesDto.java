@@ -0,0 +1,10 @@
+package com.example.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+
+public record CategorySalesDto(
+        Long categoryId,
+        long units,
+        BigDecimal revenue
+) {
+}
@@ -0,0 +1,12 @@
+package com.example.onlinebookstore.dto.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenueDto(
+        LocalDate day,
+        long orders,
+        long units,
+        BigDecimal revenue
+) {
+}
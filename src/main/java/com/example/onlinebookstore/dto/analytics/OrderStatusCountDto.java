@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.dto.analytics;
+
+public record OrderStatusCountDto(
+        String status,
+        long orders
+) {
+}
@@ -0,0 +1,17 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookCategoryFilter(
+        List<Long> allCategories,
+        List<Long> anyCategories,
+        List<Long> excludedCategories
+) {
+    public boolean isEmpty() {
+        return isEmpty(allCategories) && isEmpty(anyCategories) && isEmpty(excludedCategories);
+    }
+
+    private static boolean isEmpty(List<Long> ids) {
+        return ids == null || ids.isEmpty();
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.util.List;
+
+public record BookFacetsDto(
+        long total,
+        List<FacetCountDto> categories,
+        List<FacetCountDto> authors,
+        List<PriceBucketCountDto> priceBuckets
+) {
+}
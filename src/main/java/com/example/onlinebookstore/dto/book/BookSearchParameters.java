@@ -1,4 +1,13 @@
 package com.example.onlinebookstore.dto.book;
 
-public record BookSearchParameters(String[] titles, String[] authors) {
+import java.math.BigDecimal;
+
+public record BookSearchParameters(
+        String[] titles,
+        String[] authors,
+        String[] isbns,
+        Long[] categoryIds,
+        BigDecimal minPrice,
+        BigDecimal maxPrice
+) {
 }
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.dto.book;
+
+public record BookSuggestionDto(
+        String text,
+        String field
+) {
+}
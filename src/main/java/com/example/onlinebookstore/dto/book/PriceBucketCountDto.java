@@ -0,0 +1,10 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.math.BigDecimal;
+
+public record PriceBucketCountDto(
+        BigDecimal from,
+        BigDecimal to,
+        long count
+) {
+}
@@ -0,0 +1,33 @@
+package com.example.onlinebookstore.dto.book;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+public enum SalesWindow {
+    DAY("24h", Duration.ofHours(24)),
+    WEEK("7d", Duration.ofDays(7)),
+    ALL("all", null);
+
+    private final String value;
+    private final Duration duration;
+
+    SalesWindow(String value, Duration duration) {
+        this.value = value;
+        this.duration = duration;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public static SalesWindow fromValue(String value) {
+        return Arrays.stream(values())
+                .filter(window -> window.value.equalsIgnoreCase(value))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sales window " + value));
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.dto.book;
+
+public record TopSellerDto(
+        BookDtoWithoutCategoryIds book,
+        long sold
+) {
+}
@@ -0,0 +1,10 @@
+package com.example.onlinebookstore.dto.cache;
+
+public record CacheRegionStatisticsDto(
+        String region,
+        long hitCount,
+        long missCount,
+        long putCount,
+        double hitRate
+) {
+}
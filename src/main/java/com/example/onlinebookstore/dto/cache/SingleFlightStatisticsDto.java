@@ -0,0 +1,8 @@
+package com.example.onlinebookstore.dto.cache;
+
+public record SingleFlightStatisticsDto(
+        long loads,
+        long deduplicated,
+        long timeouts
+) {
+}
@@ -0,0 +1,34 @@
+package com.example.onlinebookstore.dto.order;
+
+import com.example.onlinebookstore.model.Order;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class OrderBulkStatusUpdateDto {
+    public static final int MAX_ORDER_IDS = 1000;
+
+    @NotNull
+    private Order.Status status;
+    @Size(max = MAX_ORDER_IDS)
+    private List<@NotNull Long> orderIds;
+    private Order.Status currentStatus;
+    private LocalDateTime orderDateFrom;
+    private LocalDateTime orderDateTo;
+
+    public boolean hasOrderIds() {
+        return orderIds != null && !orderIds.isEmpty();
+    }
+
+    @AssertTrue(message = "either orderIds or a status/date filter must be provided")
+    public boolean isSelectionPresent() {
+        return hasOrderIds()
+                || currentStatus != null
+                || orderDateFrom != null
+                || orderDateTo != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.dto.order;
+
+import java.util.List;
+import java.util.Map;
+
+public record OrderBulkStatusUpdateResponseDto(
+        int updated,
+        Map<OrderStatusUpdateResultDto.Outcome, Integer> outcomes,
+        List<OrderStatusUpdateResultDto> results
+) {
+}
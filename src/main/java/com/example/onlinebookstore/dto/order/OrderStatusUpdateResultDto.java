@@ -0,0 +1,13 @@
+package com.example.onlinebookstore.dto.order;
+
+public record OrderStatusUpdateResultDto(
+        Long orderId,
+        Outcome outcome
+) {
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        INVALID_TRANSITION,
+        NOT_FOUND
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.onlinebookstore.dto.order;
+
+import com.example.onlinebookstore.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummaryDto(Long id, LocalDateTime orderDate, BigDecimal total,
+                              Order.Status status, long itemCount) {
+}
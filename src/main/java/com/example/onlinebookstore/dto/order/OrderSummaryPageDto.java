@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.dto.order;
+
+import java.util.List;
+
+public record OrderSummaryPageDto(List<OrderSummaryDto> orders, long totalOrders) {
+}
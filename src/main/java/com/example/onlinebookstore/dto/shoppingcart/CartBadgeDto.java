@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.dto.shoppingcart;
+
+import java.math.BigDecimal;
+
+public record CartBadgeDto(long itemCount, BigDecimal total) {
+}
@@ -0,0 +1,14 @@
+package com.example.onlinebookstore.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+@Getter
+public class IdempotencyException extends RuntimeException {
+    private final HttpStatus status;
+
+    public IdempotencyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
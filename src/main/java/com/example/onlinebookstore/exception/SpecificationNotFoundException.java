@@ -1,7 +0,0 @@
-package com.example.onlinebookstore.exception;
-
-public class SpecificationNotFoundException extends RuntimeException {
-    public SpecificationNotFoundException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.exception;
+
+public class StaleCacheException extends RuntimeException {
+    public StaleCacheException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.exception;
+
+public class UnsupportedSortException extends RuntimeException {
+    public UnsupportedSortException(String message) {
+        super(message);
+    }
+}
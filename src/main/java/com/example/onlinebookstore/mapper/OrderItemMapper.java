@@ -3,6 +3,7 @@ package com.example.onlinebookstore.mapper;
 import com.example.onlinebookstore.config.MapperConfig;
 import com.example.onlinebookstore.dto.orderitem.OrderItemResponseDto;
 import com.example.onlinebookstore.model.OrderItem;
+import com.example.onlinebookstore.repository.order.PlacedOrderItem;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -10,4 +11,6 @@ import org.mapstruct.Mapping;
 public interface OrderItemMapper {
     @Mapping(target = "bookId", source = "book.id")
     OrderItemResponseDto toDto(OrderItem orderItem);
+
+    OrderItemResponseDto toDto(PlacedOrderItem orderItem);
 }
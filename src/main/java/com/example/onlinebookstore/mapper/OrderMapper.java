@@ -3,6 +3,7 @@ package com.example.onlinebookstore.mapper;
 import com.example.onlinebookstore.config.MapperConfig;
 import com.example.onlinebookstore.dto.order.OrderResponseDto;
 import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.order.PlacedOrder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
@@ -10,4 +11,7 @@ import org.mapstruct.Mapping;
 public interface OrderMapper {
     @Mapping(target = "userId", source = "user.id")
     OrderResponseDto toDto(Order order);
+
+    @Mapping(target = "orderItems", source = "items")
+    OrderResponseDto toDto(PlacedOrder placedOrder);
 }
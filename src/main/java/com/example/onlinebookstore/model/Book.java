@@ -17,11 +17,14 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
-@SQLDelete(sql = "UPDATE books SET is_deleted = TRUE WHERE id = ?")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books")
+@SQLDelete(sql = "UPDATE books SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 @Table(name = "books")
 @Getter
@@ -40,6 +43,7 @@ public class Book {
     private BigDecimal price;
     private String description;
     private String coverImage;
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "books.categories")
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "books_categories",
             joinColumns = @JoinColumn(name = "book_id"),
@@ -7,12 +7,15 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "categories")
 @Data
-@SQLDelete(sql = "UPDATE categories SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE categories SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 @Table(name = "categories")
 public class Category {
@@ -24,7 +24,7 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @Table(name = "orders")
-@SQLDelete(sql = "UPDATE orders SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE orders SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 public class Order {
     @Id
@@ -47,7 +47,7 @@ public class Order {
     @Column(nullable = false)
     private String shippingAddress;
 
-    @OneToMany
+    @OneToMany(mappedBy = "order")
     private Set<OrderItem> orderItems = new HashSet<>();
 
     @Column(name = "is_deleted", nullable = false)
@@ -56,6 +56,14 @@ public class Order {
     public enum Status {
         PENDING,
         DELIVERED,
-        COMPLETED
+        COMPLETED;
+
+        public Set<Status> getAllowedPreviousStatuses() {
+            return switch (this) {
+                case PENDING -> Set.of();
+                case DELIVERED -> Set.of(PENDING);
+                case COMPLETED -> Set.of(PENDING, DELIVERED);
+            };
+        }
     }
 }
@@ -19,7 +19,7 @@ import org.hibernate.annotations.Where;
 @Setter
 @Table(name = "order_items")
 @Where(clause = "is_deleted = FALSE")
-@SQLDelete(sql = "UPDATE order_items SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE order_items SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 public class OrderItem {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -9,9 +9,12 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Data
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = "roles")
 @Table(name = "roles")
 public class Role {
     @Id
@@ -21,7 +21,7 @@ import org.hibernate.annotations.Where;
 @Getter
 @Setter
 @Entity
-@SQLDelete(sql = "UPDATE shopping_carts SET is_deleted = TRUE WHERE id = ?")
+@SQLDelete(sql = "UPDATE shopping_carts SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 @Table(name = "shopping_carts")
 public class ShoppingCart {
@@ -23,7 +23,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 @Entity
 @Data
-@SQLDelete(sql = "UPDATE users SET is_deleted = TRUE WHERE  id=?")
+@SQLDelete(sql = "UPDATE users SET is_deleted = TRUE, deleted_at = NOW() WHERE id = ?")
 @Where(clause = "is_deleted = FALSE")
 @Table(name = "users")
 public class User implements UserDetails {
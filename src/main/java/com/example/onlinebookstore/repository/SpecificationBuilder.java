@@ -1,8 +0,0 @@
-package com.example.onlinebookstore.repository;
-
-import com.example.onlinebookstore.dto.book.BookSearchParameters;
-import org.springframework.data.jpa.domain.Specification;
-
-public interface SpecificationBuilder<T> {
-    Specification<T> build(BookSearchParameters searchParameters);
-}
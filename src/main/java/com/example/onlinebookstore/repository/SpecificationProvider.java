@@ -1,9 +0,0 @@
-package com.example.onlinebookstore.repository;
-
-import org.springframework.data.jpa.domain.Specification;
-
-public interface SpecificationProvider<T> {
-    String getKey();
-
-    Specification<T> getSpecification(String[] params);
-}
@@ -1,5 +0,0 @@
-package com.example.onlinebookstore.repository;
-
-public interface SpecificationProviderManager<T> {
-    SpecificationProvider<T> getSpecificationProvider(String key);
-}
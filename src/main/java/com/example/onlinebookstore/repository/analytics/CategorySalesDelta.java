@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.repository.analytics;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record CategorySalesDelta(LocalDate day, Long categoryId, long units, BigDecimal revenue) {
+}
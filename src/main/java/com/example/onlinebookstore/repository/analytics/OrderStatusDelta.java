@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.repository.analytics;
+
+import java.time.LocalDate;
+
+public record OrderStatusDelta(LocalDate day, String status, long orders) {
+}
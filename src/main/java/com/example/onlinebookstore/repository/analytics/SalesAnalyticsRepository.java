@@ -0,0 +1,160 @@
+package com.example.onlinebookstore.repository.analytics;
+
+import com.example.onlinebookstore.dto.analytics.BookUnitsDto;
+import com.example.onlinebookstore.dto.analytics.CategorySalesDto;
+import com.example.onlinebookstore.dto.analytics.DailyRevenueDto;
+import com.example.onlinebookstore.dto.analytics.OrderStatusCountDto;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SalesAnalyticsRepository {
+    private static final String HOUR_BUCKET = "TIMESTAMPADD(HOUR, HOUR(o.order_date),"
+            + " CAST(CAST(o.order_date AS DATE) AS DATETIME))";
+    private static final List<String> BACKFILL_STATEMENTS = List.of(
+            "DELETE FROM sales_daily_revenue"
+                    + " WHERE sales_date >= :from AND sales_date < :toExclusive",
+            "DELETE FROM sales_daily_category"
+                    + " WHERE sales_date >= :from AND sales_date < :toExclusive",
+            "DELETE FROM sales_daily_status"
+                    + " WHERE sales_date >= :from AND sales_date < :toExclusive",
+            "DELETE FROM book_sales_rollup"
+                    + " WHERE bucket_start >= :from AND bucket_start < :rollupTo",
+            "INSERT INTO sales_daily_revenue (sales_date, orders, units, revenue)"
+                    + " SELECT DATE(o.order_date), COUNT(*), COALESCE(SUM(i.units), 0),"
+                    + " SUM(o.total) FROM orders o"
+                    + " LEFT JOIN (SELECT oi.order_id, SUM(oi.quantity) AS units"
+                    + " FROM order_items oi JOIN orders io ON io.id = oi.order_id"
+                    + " WHERE oi.is_deleted = FALSE"
+                    + " AND io.order_date >= :from AND io.order_date < :toExclusive"
+                    + " GROUP BY oi.order_id) i ON i.order_id = o.id"
+                    + " WHERE o.is_deleted = FALSE"
+                    + " AND o.order_date >= :from AND o.order_date < :toExclusive"
+                    + " GROUP BY DATE(o.order_date)",
+            "INSERT INTO sales_daily_category (sales_date, category_id, units, revenue)"
+                    + " SELECT DATE(o.order_date), bc.category_id, SUM(oi.quantity),"
+                    + " SUM(oi.price * oi.quantity) FROM orders o"
+                    + " JOIN order_items oi ON oi.order_id = o.id"
+                    + " JOIN books_categories bc ON bc.book_id = oi.book_id"
+                    + " WHERE o.is_deleted = FALSE AND oi.is_deleted = FALSE"
+                    + " AND o.order_date >= :from AND o.order_date < :toExclusive"
+                    + " GROUP BY DATE(o.order_date), bc.category_id",
+            "INSERT INTO sales_daily_status (sales_date, status, orders)"
+                    + " SELECT DATE(order_date), status, COUNT(*) FROM orders"
+                    + " WHERE is_deleted = FALSE"
+                    + " AND order_date >= :from AND order_date < :toExclusive"
+                    + " GROUP BY DATE(order_date), status",
+            "INSERT INTO book_sales_rollup (book_id, bucket_start, quantity)"
+                    + " SELECT oi.book_id, " + HOUR_BUCKET + ", SUM(oi.quantity)"
+                    + " FROM order_items oi JOIN orders o ON o.id = oi.order_id"
+                    + " WHERE oi.is_deleted = FALSE"
+                    + " AND o.order_date >= :from AND o.order_date < :rollupTo"
+                    + " GROUP BY oi.book_id, " + HOUR_BUCKET);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void addDailyRevenue(LocalDate day, long orders, long units, BigDecimal revenue) {
+        jdbcTemplate.update("INSERT INTO sales_daily_revenue (sales_date, orders, units, revenue)"
+                + " VALUES (:day, :orders, :units, :revenue)"
+                + " ON DUPLICATE KEY UPDATE orders = orders + VALUES(orders),"
+                + " units = units + VALUES(units), revenue = revenue + VALUES(revenue)",
+                new MapSqlParameterSource()
+                        .addValue("day", day)
+                        .addValue("orders", orders)
+                        .addValue("units", units)
+                        .addValue("revenue", revenue));
+    }
+
+    public void addCategorySales(List<CategorySalesDelta> deltas) {
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("day", delta.day())
+                        .addValue("categoryId", delta.categoryId())
+                        .addValue("units", delta.units())
+                        .addValue("revenue", delta.revenue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO sales_daily_category"
+                + " (sales_date, category_id, units, revenue)"
+                + " VALUES (:day, :categoryId, :units, :revenue)"
+                + " ON DUPLICATE KEY UPDATE units = units + VALUES(units),"
+                + " revenue = revenue + VALUES(revenue)", batch);
+    }
+
+    public void addStatusCounts(List<OrderStatusDelta> deltas) {
+        SqlParameterSource[] batch = deltas.stream()
+                .map(delta -> new MapSqlParameterSource()
+                        .addValue("day", delta.day())
+                        .addValue("status", delta.status())
+                        .addValue("orders", delta.orders()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO sales_daily_status (sales_date, status, orders)"
+                + " VALUES (:day, :status, :orders)"
+                + " ON DUPLICATE KEY UPDATE orders = orders + VALUES(orders)", batch);
+    }
+
+    public List<DailyRevenueDto> findDailyRevenue(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT sales_date, orders, units, revenue"
+                        + " FROM sales_daily_revenue WHERE sales_date BETWEEN :from AND :to"
+                        + " ORDER BY sales_date", range(from, to),
+                (rs, rowNum) -> new DailyRevenueDto(
+                        rs.getObject("sales_date", LocalDate.class), rs.getLong("orders"),
+                        rs.getLong("units"), rs.getBigDecimal("revenue")));
+    }
+
+    public List<CategorySalesDto> findCategorySales(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT category_id, SUM(units) AS units,"
+                        + " SUM(revenue) AS revenue FROM sales_daily_category"
+                        + " WHERE sales_date BETWEEN :from AND :to"
+                        + " GROUP BY category_id ORDER BY revenue DESC", range(from, to),
+                (rs, rowNum) -> new CategorySalesDto(rs.getLong("category_id"),
+                        rs.getLong("units"), rs.getBigDecimal("revenue")));
+    }
+
+    public List<OrderStatusCountDto> findStatusCounts(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query("SELECT status, SUM(orders) AS orders FROM sales_daily_status"
+                        + " WHERE sales_date BETWEEN :from AND :to"
+                        + " GROUP BY status HAVING SUM(orders) > 0 ORDER BY status",
+                range(from, to),
+                (rs, rowNum) -> new OrderStatusCountDto(rs.getString("status"),
+                        rs.getLong("orders")));
+    }
+
+    public List<BookUnitsDto> findBookUnits(LocalDate from, LocalDate to, int limit) {
+        return jdbcTemplate.query("SELECT book_id, SUM(quantity) AS units FROM book_sales_rollup"
+                        + " WHERE bucket_start >= :from AND bucket_start < :toExclusive"
+                        + " GROUP BY book_id ORDER BY units DESC, book_id LIMIT :limit",
+                range(from, to)
+                        .addValue("toExclusive", to.plusDays(1))
+                        .addValue("limit", limit),
+                (rs, rowNum) -> new BookUnitsDto(rs.getLong("book_id"), rs.getLong("units")));
+    }
+
+    public Optional<LocalDate> findFirstOrderDay() {
+        return Optional.ofNullable(jdbcTemplate.getJdbcTemplate()
+                        .queryForObject("SELECT MIN(order_date) FROM orders", LocalDateTime.class))
+                .map(LocalDateTime::toLocalDate);
+    }
+
+    public void backfill(LocalDate from, LocalDate toExclusive, LocalDateTime rollupTo) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("toExclusive", toExclusive)
+                .addValue("rollupTo", rollupTo);
+        BACKFILL_STATEMENTS.forEach(statement -> jdbcTemplate.update(statement, params));
+    }
+
+    private MapSqlParameterSource range(LocalDate from, LocalDate to) {
+        return new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.onlinebookstore.repository.archive;
+
+import java.util.List;
+import lombok.Getter;
+
+@Getter
+public enum ArchivedTable {
+    ORDER_ITEMS("order_items",
+            "id, order_id, book_id, quantity, price, is_deleted, deleted_at",
+            "",
+            List.of()),
+    ORDERS("orders",
+            "id, user_id, status, total, order_date, shipping_address, is_deleted, deleted_at",
+            "",
+            List.of("INSERT INTO order_items_archive "
+                            + "(id, order_id, book_id, quantity, price, is_deleted, deleted_at,"
+                            + " archived_at) "
+                            + "SELECT id, order_id, book_id, quantity, price, is_deleted,"
+                            + " deleted_at, NOW() FROM order_items WHERE order_id IN (:ids)",
+                    "DELETE FROM order_items WHERE order_id IN (:ids)")),
+    SHOPPING_CARTS("shopping_carts",
+            "id, user_id, is_deleted, deleted_at",
+            "",
+            List.of("INSERT INTO cart_items_archive "
+                            + "(id, shopping_cart_id, book_id, quantity, archived_at) "
+                            + "SELECT id, shopping_cart_id, book_id, quantity, NOW()"
+                            + " FROM cart_items WHERE shopping_cart_id IN (:ids)",
+                    "DELETE FROM cart_items WHERE shopping_cart_id IN (:ids)")),
+    BOOKS("books",
+            "id, title, author, isbn, price, description, cover_image, is_deleted, deleted_at",
+            " AND NOT EXISTS (SELECT 1 FROM order_items oi WHERE oi.book_id = t.id)"
+                    + " AND NOT EXISTS (SELECT 1 FROM cart_items ci WHERE ci.book_id = t.id)",
+            List.of("INSERT INTO books_categories_archive (book_id, category_id, archived_at) "
+                            + "SELECT book_id, category_id, NOW() FROM books_categories"
+                            + " WHERE book_id IN (:ids)",
+                    "DELETE FROM books_categories WHERE book_id IN (:ids)")),
+    CATEGORIES("categories",
+            "id, name, description, is_deleted, deleted_at",
+            "",
+            List.of("INSERT INTO books_categories_archive (book_id, category_id, archived_at) "
+                            + "SELECT book_id, category_id, NOW() FROM books_categories"
+                            + " WHERE category_id IN (:ids)",
+                    "DELETE FROM books_categories WHERE category_id IN (:ids)")),
+    USERS("users",
+            "id, email, password, first_name, last_name, shipping_address, is_deleted, deleted_at",
+            " AND NOT EXISTS (SELECT 1 FROM orders o WHERE o.user_id = t.id)",
+            List.of("INSERT INTO cart_items_archive "
+                            + "(id, shopping_cart_id, book_id, quantity, archived_at) "
+                            + "SELECT ci.id, ci.shopping_cart_id, ci.book_id, ci.quantity, NOW()"
+                            + " FROM cart_items ci"
+                            + " JOIN shopping_carts sc ON sc.id = ci.shopping_cart_id"
+                            + " WHERE sc.user_id IN (:ids)",
+                    "DELETE FROM cart_items WHERE shopping_cart_id IN "
+                            + "(SELECT id FROM shopping_carts WHERE user_id IN (:ids))",
+                    "INSERT INTO shopping_carts_archive "
+                            + "(id, user_id, is_deleted, deleted_at, archived_at) "
+                            + "SELECT id, user_id, is_deleted, deleted_at, NOW()"
+                            + " FROM shopping_carts WHERE user_id IN (:ids)",
+                    "DELETE FROM shopping_carts WHERE user_id IN (:ids)",
+                    "DELETE FROM user_role WHERE user_id IN (:ids)"));
+
+    private final String tableName;
+    private final String columns;
+    private final String referenceCondition;
+    private final List<String> dependentStatements;
+
+    ArchivedTable(String tableName,
+                  String columns,
+                  String referenceCondition,
+                  List<String> dependentStatements) {
+        this.tableName = tableName;
+        this.columns = columns;
+        this.referenceCondition = referenceCondition;
+        this.dependentStatements = dependentStatements;
+    }
+
+    public String getArchiveTableName() {
+        return tableName + "_archive";
+    }
+}
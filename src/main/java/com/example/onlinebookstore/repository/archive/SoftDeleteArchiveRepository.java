@@ -0,0 +1,37 @@
+package com.example.onlinebookstore.repository.archive;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class SoftDeleteArchiveRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<Long> findArchivableIds(ArchivedTable table, LocalDateTime deletedBefore,
+                                        int limit) {
+        String sql = "SELECT t.id FROM " + table.getTableName() + " t"
+                + " WHERE t.is_deleted = TRUE AND t.deleted_at < :deletedBefore"
+                + table.getReferenceCondition()
+                + " ORDER BY t.id LIMIT :limit";
+        return jdbcTemplate.queryForList(sql,
+                Map.of("deletedBefore", deletedBefore, "limit", limit), Long.class);
+    }
+
+    public int archive(ArchivedTable table, List<Long> ids) {
+        Map<String, List<Long>> params = Map.of("ids", ids);
+        jdbcTemplate.update("INSERT INTO " + table.getArchiveTableName()
+                + " (" + table.getColumns() + ", archived_at)"
+                + " SELECT " + table.getColumns() + ", NOW() FROM " + table.getTableName()
+                + " WHERE id IN (:ids)", params);
+        for (String statement : table.getDependentStatements()) {
+            jdbcTemplate.update(statement, params);
+        }
+        return jdbcTemplate.update("DELETE FROM " + table.getTableName()
+                + " WHERE id IN (:ids)", params);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.onlinebookstore.repository.book;
+
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookCatalogRepository {
+    private static final String SELECT_ROWS = "SELECT id, title, author, isbn, price FROM books"
+            + " WHERE is_deleted = FALSE";
+    private static final RowMapper<BookCatalogRow> ROW_MAPPER = (rs, rowNum) ->
+            new BookCatalogRow(rs.getLong("id"), rs.getString("title"),
+                    rs.getString("author"), rs.getString("isbn"), rs.getBigDecimal("price"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<BookCatalogRow> findAllRows() {
+        return jdbcTemplate.query(SELECT_ROWS + " ORDER BY id", ROW_MAPPER);
+    }
+
+    public Optional<BookCatalogRow> findRowById(Long id) {
+        return jdbcTemplate.query(SELECT_ROWS + " AND id = :id",
+                new MapSqlParameterSource("id", id), ROW_MAPPER).stream().findFirst();
+    }
+}
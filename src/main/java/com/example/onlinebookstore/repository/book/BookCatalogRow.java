@@ -0,0 +1,12 @@
+package com.example.onlinebookstore.repository.book;
+
+import java.math.BigDecimal;
+
+public record BookCatalogRow(
+        long id,
+        String title,
+        String author,
+        String isbn,
+        BigDecimal price
+) {
+}
@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.repository.book;
+
+public record BookCategoryLink(long bookId, long categoryId) {
+}
@@ -0,0 +1,45 @@
+package com.example.onlinebookstore.repository.book;
+
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class BookCategoryLinkRepository {
+    private static final String ACTIVE_LINKS = " FROM books_categories bc"
+            + " JOIN books b ON b.id = bc.book_id AND b.is_deleted = FALSE"
+            + " JOIN categories c ON c.id = bc.category_id AND c.is_deleted = FALSE";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<BookCategoryLink> findAllLinks() {
+        return jdbcTemplate.query("SELECT bc.book_id, bc.category_id" + ACTIVE_LINKS,
+                (rs, rowNum) -> new BookCategoryLink(rs.getLong("book_id"),
+                        rs.getLong("category_id")));
+    }
+
+    public List<Long> findAllBookIds() {
+        return jdbcTemplate.queryForList("SELECT id FROM books WHERE is_deleted = FALSE",
+                Map.of(), Long.class);
+    }
+
+    public boolean existsBook(long bookId) {
+        return !jdbcTemplate.queryForList("SELECT id FROM books"
+                        + " WHERE id = :bookId AND is_deleted = FALSE",
+                Map.of("bookId", bookId), Long.class).isEmpty();
+    }
+
+    public List<Long> findCategoryIdsByBookId(long bookId) {
+        return jdbcTemplate.queryForList("SELECT bc.category_id" + ACTIVE_LINKS
+                + " WHERE bc.book_id = :bookId", Map.of("bookId", bookId), Long.class);
+    }
+
+    public List<Long> findBookIdsByCategoryId(long categoryId) {
+        return jdbcTemplate.queryForList("SELECT bc.book_id" + ACTIVE_LINKS
+                + " WHERE bc.category_id = :categoryId", Map.of("categoryId", categoryId),
+                Long.class);
+    }
+}
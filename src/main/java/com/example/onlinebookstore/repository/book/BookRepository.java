@@ -1,12 +1,22 @@
 package com.example.onlinebookstore.repository.book;
 
 import com.example.onlinebookstore.model.Book;
+import jakarta.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.QueryHints;
 
-public interface BookRepository extends JpaRepository<Book, Long>, JpaSpecificationExecutor<Book> {
+public interface BookRepository extends JpaRepository<Book, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true")
+    })
     @EntityGraph(attributePaths = "categories")
     List<Book> findAllByCategoriesId(Long categoryId);
+
+    @EntityGraph(attributePaths = "categories")
+    List<Book> findAllByIdIn(Collection<Long> ids);
 }
@@ -0,0 +1,6 @@
+package com.example.onlinebookstore.repository.book;
+
+import java.time.LocalDateTime;
+
+public record BookSalesRollup(Long bookId, LocalDateTime bucketStart, long quantity) {
+}
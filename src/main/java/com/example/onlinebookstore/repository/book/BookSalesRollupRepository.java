@@ -0,0 +1,60 @@
+package com.example.onlinebookstore.repository.book;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+@RequiredArgsConstructor
+public class BookSalesRollupRepository {
+    private static final RowMapper<BookSalesTotal> TOTAL_MAPPER = (rs, rowNum) ->
+            new BookSalesTotal(rs.getLong("book_id"), rs.getLong("sold"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void add(List<BookSalesRollup> rollups) {
+        SqlParameterSource[] batch = rollups.stream()
+                .map(rollup -> new MapSqlParameterSource()
+                        .addValue("bookId", rollup.bookId())
+                        .addValue("bucketStart", rollup.bucketStart())
+                        .addValue("quantity", rollup.quantity()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO book_sales_rollup (book_id, bucket_start, quantity)"
+                + " VALUES (:bookId, :bucketStart, :quantity)"
+                + " ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)", batch);
+    }
+
+    public List<BookSalesTotal> findTotals() {
+        return jdbcTemplate.query("SELECT book_id, SUM(quantity) AS sold FROM book_sales_rollup"
+                + " GROUP BY book_id ORDER BY sold DESC, book_id", TOTAL_MAPPER);
+    }
+
+    public List<BookSalesRollup> findRollupsSince(LocalDateTime since) {
+        return jdbcTemplate.query("SELECT book_id, bucket_start, quantity FROM book_sales_rollup"
+                        + " WHERE bucket_start >= :since",
+                new MapSqlParameterSource("since", since),
+                (rs, rowNum) -> new BookSalesRollup(rs.getLong("book_id"),
+                        rs.getObject("bucket_start", LocalDateTime.class),
+                        rs.getLong("quantity")));
+    }
+
+    @Transactional
+    public void compactBefore(LocalDateTime cutoff) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource("cutoff", cutoff);
+        jdbcTemplate.update("INSERT INTO book_sales_rollup (book_id, bucket_start, quantity)"
+                + " SELECT book_id, day_start, sold FROM (SELECT book_id,"
+                + " CAST(CAST(bucket_start AS DATE) AS DATETIME) AS day_start,"
+                + " SUM(quantity) AS sold FROM book_sales_rollup"
+                + " WHERE bucket_start < :cutoff AND HOUR(bucket_start) > 0"
+                + " GROUP BY book_id, CAST(CAST(bucket_start AS DATE) AS DATETIME)) daily"
+                + " ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)", parameters);
+        jdbcTemplate.update("DELETE FROM book_sales_rollup"
+                + " WHERE bucket_start < :cutoff AND HOUR(bucket_start) > 0", parameters);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.repository.book;
+
+public record BookSalesTotal(Long bookId, long sold) {
+}
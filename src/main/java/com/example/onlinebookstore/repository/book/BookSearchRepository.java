@@ -0,0 +1,51 @@
+package com.example.onlinebookstore.repository.book;
+
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.model.Book;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public class BookSearchRepository {
+    private final Cache<BookSearchShape, String> queriesByShape;
+    private final EntityManager entityManager;
+
+    public BookSearchRepository(EntityManager entityManager,
+                                @Value("${catalog.search.query-cache-size}") long cacheSize) {
+        this.entityManager = entityManager;
+        this.queriesByShape = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .build();
+    }
+
+    public List<Book> search(BookSearchParameters params, Pageable pageable) {
+        BookSearchShape shape = BookSearchShape.of(params, pageable.getSort());
+        String hql = queriesByShape.get(shape, BookSearchShape::toHql);
+        TypedQuery<Book> query = entityManager.createQuery(hql, Book.class);
+        bind(query, "title", params.titles(), shape.titles());
+        bind(query, "author", params.authors(), shape.authors());
+        bind(query, "isbn", params.isbns(), shape.isbns());
+        bind(query, "category", params.categoryIds(), shape.categories());
+        if (shape.minPrice()) {
+            query.setParameter("minPrice", params.minPrice());
+        }
+        if (shape.maxPrice()) {
+            query.setParameter("maxPrice", params.maxPrice());
+        }
+        return query.setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private void bind(TypedQuery<Book> query, String name, Object[] values, int arity) {
+        for (int i = 0; i < arity; i++) {
+            query.setParameter(name + i, values[Math.min(i, values.length - 1)]);
+        }
+    }
+}
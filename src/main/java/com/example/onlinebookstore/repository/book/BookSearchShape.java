@@ -0,0 +1,65 @@
+package com.example.onlinebookstore.repository.book;
+
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.exception.UnsupportedSortException;
+import java.util.Set;
+import java.util.StringJoiner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+record BookSearchShape(int titles, int authors, int isbns, int categories,
+                       boolean minPrice, boolean maxPrice, Sort sort) {
+    private static final Set<String> SORTABLE_PROPERTIES =
+            Set.of("id", "title", "author", "isbn", "price");
+
+    static BookSearchShape of(BookSearchParameters params, Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new UnsupportedSortException("Can`t sort books by "
+                        + order.getProperty());
+            }
+        }
+        return new BookSearchShape(padded(params.titles()), padded(params.authors()),
+                padded(params.isbns()), padded(params.categoryIds()),
+                params.minPrice() != null, params.maxPrice() != null, sort);
+    }
+
+    static int padded(Object[] values) {
+        if (values == null || values.length == 0) {
+            return 0;
+        }
+        return values.length == 1 ? 1 : Integer.highestOneBit(values.length - 1) << 1;
+    }
+
+    String toHql() {
+        StringJoiner where = new StringJoiner(" AND ", " WHERE ", "").setEmptyValue("");
+        if (titles > 0) {
+            where.add("b.title IN " + parameters("title", titles));
+        }
+        if (authors > 0) {
+            where.add("b.author IN " + parameters("author", authors));
+        }
+        if (isbns > 0) {
+            where.add("b.isbn IN " + parameters("isbn", isbns));
+        }
+        if (categories > 0) {
+            where.add("EXISTS (SELECT 1 FROM Book bc JOIN bc.categories c WHERE bc = b"
+                    + " AND c.id IN " + parameters("category", categories) + ")");
+        }
+        if (minPrice) {
+            where.add("b.price >= :minPrice");
+        }
+        if (maxPrice) {
+            where.add("b.price <= :maxPrice");
+        }
+        return QueryUtils.applySorting("SELECT b FROM Book b" + where, sort, "b");
+    }
+
+    private static String parameters(String name, int arity) {
+        StringJoiner joiner = new StringJoiner(", ", "(", ")");
+        for (int i = 0; i < arity; i++) {
+            joiner.add(":" + name + i);
+        }
+        return joiner.toString();
+    }
+}
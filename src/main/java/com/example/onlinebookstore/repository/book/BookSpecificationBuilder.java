@@ -1,29 +0,0 @@
-package com.example.onlinebookstore.repository.book;
-
-import com.example.onlinebookstore.dto.book.BookSearchParameters;
-import com.example.onlinebookstore.model.Book;
-import com.example.onlinebookstore.repository.SpecificationBuilder;
-import com.example.onlinebookstore.repository.SpecificationProviderManager;
-import lombok.RequiredArgsConstructor;
-import org.springframework.data.jpa.domain.Specification;
-import org.springframework.stereotype.Component;
-
-@Component
-@RequiredArgsConstructor
-public class BookSpecificationBuilder implements SpecificationBuilder<Book> {
-    private final SpecificationProviderManager<Book> bookSpecificationProviderManager;
-
-    @Override
-    public Specification<Book> build(BookSearchParameters searchParameters) {
-        Specification<Book> spec = Specification.where(null);
-        if (searchParameters.authors() != null && searchParameters.authors().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("author")
-                    .getSpecification(searchParameters.authors()));
-        }
-        if (searchParameters.titles() != null && searchParameters.titles().length > 0) {
-            spec = spec.and(bookSpecificationProviderManager.getSpecificationProvider("title")
-                    .getSpecification(searchParameters.titles()));
-        }
-        return spec;
-    }
-}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.repository.cache;
+
+import com.example.onlinebookstore.service.cache.CacheRegion;
+
+public record CacheInvalidationLogEntry(
+        Long id,
+        CacheRegion region,
+        Long entityId,
+        String nodeId
+) {
+}
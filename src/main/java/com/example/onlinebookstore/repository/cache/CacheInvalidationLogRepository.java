@@ -0,0 +1,48 @@
+package com.example.onlinebookstore.repository.cache;
+
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CacheInvalidationLogRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void append(CacheRegion region, Long entityId, String nodeId) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("region", region.name());
+        params.put("entityId", entityId);
+        params.put("nodeId", nodeId);
+        jdbcTemplate.update("INSERT INTO cache_invalidation_log (region, entity_id, node_id)"
+                + " VALUES (:region, :entityId, :nodeId)", params);
+    }
+
+    public List<CacheInvalidationLogEntry> findAfter(long afterId, int limit) {
+        return jdbcTemplate.query("SELECT id, region, entity_id, node_id"
+                        + " FROM cache_invalidation_log WHERE id > :afterId"
+                        + " ORDER BY id LIMIT :limit",
+                Map.of("afterId", afterId, "limit", limit),
+                (rs, rowNum) -> new CacheInvalidationLogEntry(
+                        rs.getLong("id"),
+                        CacheRegion.valueOf(rs.getString("region")),
+                        rs.getObject("entity_id", Long.class),
+                        rs.getString("node_id")));
+    }
+
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM cache_invalidation_log", Map.of(), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public int deleteCreatedBefore(LocalDateTime createdBefore) {
+        return jdbcTemplate.update("DELETE FROM cache_invalidation_log"
+                + " WHERE created_at < :createdBefore", Map.of("createdBefore", createdBefore));
+    }
+}
@@ -4,8 +4,16 @@ import com.example.onlinebookstore.model.CartItem;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 public interface CartItemRepository extends JpaRepository<CartItem, Long> {
     @EntityGraph(attributePaths = "shoppingCart")
     Optional<CartItem> findById(Long id);
+
+    @Modifying
+    @Query("DELETE FROM CartItem ci WHERE ci.shoppingCart.id ="
+            + " (SELECT sc.id FROM ShoppingCart sc WHERE sc.user.id = :userId)")
+    int deleteAllByUserId(@Param("userId") Long userId);
 }
@@ -1,7 +1,14 @@
 package com.example.onlinebookstore.repository.category;
 
 import com.example.onlinebookstore.model.Category;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<Category> findAll(Pageable pageable);
 }
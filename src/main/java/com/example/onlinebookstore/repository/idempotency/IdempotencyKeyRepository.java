@@ -0,0 +1,87 @@
+package com.example.onlinebookstore.repository.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class IdempotencyKeyRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public boolean insertPending(Long userId, String key, String requestPath,
+                                 String requestHash) {
+        return jdbcTemplate.update("INSERT IGNORE INTO idempotency_keys"
+                        + " (user_id, idempotency_key, request_path, request_hash, created_at)"
+                        + " VALUES (:userId, :key, :requestPath, :requestHash, :createdAt)",
+                keyParameters(userId, key)
+                        .addValue("requestPath", requestPath)
+                        .addValue("requestHash", requestHash)
+                        .addValue("createdAt", LocalDateTime.now())) > 0;
+    }
+
+    public Optional<IdempotencyRecord> find(Long userId, String key) {
+        return jdbcTemplate.query("SELECT request_path, request_hash, status_code, content_type,"
+                        + " response_body, created_at, committed_at FROM idempotency_keys"
+                        + " WHERE user_id = :userId AND idempotency_key = :key",
+                keyParameters(userId, key),
+                (resultSet, rowNum) -> {
+                    int status = resultSet.getInt("status_code");
+                    IdempotentResponse response = resultSet.wasNull()
+                            ? null
+                            : new IdempotentResponse(status, resultSet.getString("content_type"),
+                                    resultSet.getString("response_body"));
+                    return new IdempotencyRecord(resultSet.getString("request_path"),
+                            resultSet.getString("request_hash"), response,
+                            resultSet.getObject("created_at", LocalDateTime.class),
+                            resultSet.getObject("committed_at", LocalDateTime.class));
+                })
+                .stream()
+                .findFirst();
+    }
+
+    public void complete(Long userId, String key, IdempotentResponse response) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET status_code = :status,"
+                        + " content_type = :contentType, response_body = :body"
+                        + " WHERE user_id = :userId AND idempotency_key = :key",
+                keyParameters(userId, key)
+                        .addValue("status", response.status())
+                        .addValue("contentType", response.contentType())
+                        .addValue("body", response.body()));
+    }
+
+    public void markCommitted(Long userId, String key) {
+        jdbcTemplate.update("UPDATE idempotency_keys SET committed_at = :committedAt"
+                        + " WHERE user_id = :userId AND idempotency_key = :key",
+                keyParameters(userId, key).addValue("committedAt", LocalDateTime.now()));
+    }
+
+    public void deleteUncommitted(Long userId, String key) {
+        jdbcTemplate.update("DELETE FROM idempotency_keys"
+                        + " WHERE user_id = :userId AND idempotency_key = :key"
+                        + " AND committed_at IS NULL",
+                keyParameters(userId, key));
+    }
+
+    public boolean deletePendingCreatedBefore(Long userId, String key, LocalDateTime time) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys"
+                        + " WHERE user_id = :userId AND idempotency_key = :key"
+                        + " AND status_code IS NULL AND committed_at IS NULL"
+                        + " AND created_at < :time",
+                keyParameters(userId, key).addValue("time", time)) > 0;
+    }
+
+    public int deleteCreatedBefore(LocalDateTime time) {
+        return jdbcTemplate.update("DELETE FROM idempotency_keys WHERE created_at < :time",
+                new MapSqlParameterSource("time", time));
+    }
+
+    private static MapSqlParameterSource keyParameters(Long userId, String key) {
+        return new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("key", key);
+    }
+}
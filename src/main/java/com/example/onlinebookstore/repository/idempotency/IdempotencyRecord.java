@@ -0,0 +1,19 @@
+package com.example.onlinebookstore.repository.idempotency;
+
+import java.time.LocalDateTime;
+
+public record IdempotencyRecord(String requestPath, String requestHash,
+                                IdempotentResponse response, LocalDateTime createdAt,
+                                LocalDateTime committedAt) {
+    public boolean isCompleted() {
+        return response != null;
+    }
+
+    public boolean isCommitted() {
+        return committedAt != null;
+    }
+
+    public boolean matches(String path, String hash) {
+        return requestPath.equals(path) && (requestHash == null || requestHash.equals(hash));
+    }
+}
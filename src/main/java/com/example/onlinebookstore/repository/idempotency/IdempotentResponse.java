@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.repository.idempotency;
+
+public record IdempotentResponse(int status, String contentType, String body) {
+}
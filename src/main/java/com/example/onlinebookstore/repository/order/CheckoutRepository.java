@@ -0,0 +1,90 @@
+package com.example.onlinebookstore.repository.order;
+
+import com.example.onlinebookstore.model.Order;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CheckoutRepository {
+    private static final String CART_ITEMS = " FROM shopping_carts sc"
+            + " JOIN cart_items ci ON ci.shopping_cart_id = sc.id"
+            + " JOIN books b ON b.id = ci.book_id"
+            + " WHERE sc.user_id = :userId AND sc.is_deleted = FALSE AND b.is_deleted = FALSE";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Optional<Long> insertOrderFromCart(Long userId, String shippingAddress,
+                                              LocalDateTime orderDate) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        int inserted = jdbcTemplate.update("INSERT INTO orders (user_id, status, total,"
+                        + " order_date, shipping_address, is_deleted)"
+                        + " SELECT sc.user_id, 'PENDING', SUM(b.price * ci.quantity),"
+                        + " :orderDate, :shippingAddress, FALSE"
+                        + CART_ITEMS + " GROUP BY sc.user_id",
+                new MapSqlParameterSource()
+                        .addValue("userId", userId)
+                        .addValue("orderDate", orderDate)
+                        .addValue("shippingAddress", shippingAddress),
+                keyHolder, new String[] {"id"});
+        return inserted == 0
+                ? Optional.empty()
+                : Optional.of(keyHolder.getKey().longValue());
+    }
+
+    public void insertOrderItemsFromCart(Long orderId, Long userId) {
+        jdbcTemplate.update("INSERT INTO order_items (order_id, book_id, quantity, price,"
+                        + " is_deleted)"
+                        + " SELECT :orderId, ci.book_id, ci.quantity, b.price, FALSE"
+                        + CART_ITEMS + " ORDER BY ci.id",
+                new MapSqlParameterSource()
+                        .addValue("orderId", orderId)
+                        .addValue("userId", userId));
+    }
+
+    public PlacedOrder findPlacedOrder(Long orderId) {
+        List<PlacedOrder> orders = new ArrayList<>(1);
+        Map<Long, PlacedOrderItem> items = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT o.user_id, o.status, o.total, o.order_date, oi.id,"
+                        + " oi.book_id, oi.quantity, oi.price, bc.category_id FROM orders o"
+                        + " JOIN order_items oi ON oi.order_id = o.id"
+                        + " LEFT JOIN books_categories bc ON bc.book_id = oi.book_id"
+                        + " WHERE o.id = :orderId ORDER BY oi.id",
+                new MapSqlParameterSource("orderId", orderId),
+                resultSet -> {
+                    if (orders.isEmpty()) {
+                        orders.add(new PlacedOrder(orderId, resultSet.getLong("user_id"),
+                                Order.Status.valueOf(resultSet.getString("status")),
+                                resultSet.getBigDecimal("total"),
+                                resultSet.getTimestamp("order_date").toLocalDateTime(),
+                                List.of()));
+                    }
+                    long itemId = resultSet.getLong("id");
+                    PlacedOrderItem item = items.get(itemId);
+                    if (item == null) {
+                        item = new PlacedOrderItem(itemId, resultSet.getLong("book_id"),
+                                resultSet.getInt("quantity"), resultSet.getBigDecimal("price"),
+                                new HashSet<>());
+                        items.put(itemId, item);
+                    }
+                    long categoryId = resultSet.getLong("category_id");
+                    if (!resultSet.wasNull()) {
+                        item.categoryIds().add(categoryId);
+                    }
+                });
+        PlacedOrder order = orders.get(0);
+        return new PlacedOrder(order.id(), order.userId(), order.status(), order.total(),
+                order.orderDate(), List.copyOf(items.values()));
+    }
+}
@@ -1,20 +1,62 @@
 package com.example.onlinebookstore.repository.order;
 
+import com.example.onlinebookstore.dto.order.OrderSummaryDto;
 import com.example.onlinebookstore.model.Order;
 import com.example.onlinebookstore.model.User;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @EntityGraph(attributePaths = "user")
-    List<Order> findByUser(User user, Pageable pageable);
+    @Query("SELECT o.id FROM Order o WHERE o.user = :user")
+    List<Long> findIdsByUser(@Param("user") User user, Pageable pageable);
 
+    @Query("SELECT new com.example.onlinebookstore.dto.order.OrderSummaryDto(o.id, o.orderDate,"
+            + " o.total, o.status, (SELECT COUNT(oi) FROM OrderItem oi WHERE oi.order = o))"
+            + " FROM Order o WHERE o.user = :user")
+    List<OrderSummaryDto> findSummariesByUser(@Param("user") User user, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT o FROM Order o LEFT JOIN FETCH o.orderItems WHERE o.id IN :ids")
+    List<Order> findAllWithOrderItemsByIdIn(@Param("ids") List<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @EntityGraph(attributePaths = "orderItems")
     Optional<Order> findByIdAndUser(Long orderId, User user);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"))
     @EntityGraph(attributePaths = "orderItems")
     Optional<Order> findByUserAndIdAndOrderItems_Id(User user, Long orderId, Long itemId);
+
+    @Query(value = "SELECT id, status, order_date AS orderDate FROM orders "
+            + "WHERE id IN (:ids) AND is_deleted = FALSE FOR UPDATE", nativeQuery = true)
+    List<OrderStatusView> findStatusesForUpdateByIdIn(@Param("ids") List<Long> ids);
+
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId"
+            + " AND (:status IS NULL OR o.status = :status)"
+            + " AND (:from IS NULL OR o.orderDate >= :from)"
+            + " AND (:to IS NULL OR o.orderDate < :to)"
+            + " ORDER BY o.id")
+    List<Long> findIdsByStatusAndOrderDate(@Param("afterId") Long afterId,
+                                           @Param("status") Order.Status status,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Order o SET o.status = :status WHERE o.id IN :ids"
+            + " AND o.status IN :allowedStatuses AND o.isDeleted = false")
+    int updateStatusByIdIn(@Param("ids") List<Long> ids,
+                           @Param("status") Order.Status status,
+                           @Param("allowedStatuses") Collection<Order.Status> allowedStatuses);
 }
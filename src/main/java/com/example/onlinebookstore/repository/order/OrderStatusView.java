@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.repository.order;
+
+import java.time.LocalDateTime;
+
+public interface OrderStatusView {
+    Long getId();
+
+    String getStatus();
+
+    LocalDateTime getOrderDate();
+}
@@ -0,0 +1,10 @@
+package com.example.onlinebookstore.repository.order;
+
+import com.example.onlinebookstore.model.Order;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record PlacedOrder(Long id, Long userId, Order.Status status, BigDecimal total,
+                          LocalDateTime orderDate, List<PlacedOrderItem> items) {
+}
@@ -0,0 +1,8 @@
+package com.example.onlinebookstore.repository.order;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+public record PlacedOrderItem(Long id, Long bookId, int quantity, BigDecimal price,
+                              Set<Long> categoryIds) {
+}
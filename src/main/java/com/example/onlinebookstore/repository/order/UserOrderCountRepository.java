@@ -0,0 +1,26 @@
+package com.example.onlinebookstore.repository.order;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class UserOrderCountRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void increment(Long userId) {
+        jdbcTemplate.update("INSERT INTO user_order_counts (user_id, orders) VALUES (:userId, 1)"
+                + " ON DUPLICATE KEY UPDATE orders = orders + 1",
+                new MapSqlParameterSource("userId", userId));
+    }
+
+    public long findByUserId(Long userId) {
+        List<Long> counts = jdbcTemplate.queryForList(
+                "SELECT orders FROM user_order_counts WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", userId), Long.class);
+        return counts.isEmpty() ? 0 : counts.get(0);
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.repository.orderitem;
+
+public record OrderBasket(long orderId, long[] bookIds) {
+}
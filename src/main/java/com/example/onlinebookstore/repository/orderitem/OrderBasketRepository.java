@@ -0,0 +1,53 @@
+package com.example.onlinebookstore.repository.orderitem;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class OrderBasketRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long findMaxOrderId() {
+        Long maxId = jdbcTemplate.getJdbcTemplate()
+                .queryForObject("SELECT MAX(id) FROM orders", Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public List<OrderBasket> findBaskets(long fromOrderId, long toOrderId) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fromId", fromOrderId)
+                .addValue("toId", toOrderId);
+        return jdbcTemplate.query("SELECT oi.order_id, oi.book_id FROM order_items oi"
+                + " JOIN orders o ON o.id = oi.order_id"
+                + " WHERE oi.order_id > :fromId AND oi.order_id <= :toId"
+                + " AND oi.is_deleted = FALSE AND o.is_deleted = FALSE"
+                + " ORDER BY oi.order_id", params, rs -> {
+                    List<OrderBasket> baskets = new ArrayList<>();
+                    Set<Long> bookIds = new LinkedHashSet<>();
+                    long orderId = 0;
+                    while (rs.next()) {
+                        if (rs.getLong("order_id") != orderId && !bookIds.isEmpty()) {
+                            baskets.add(toBasket(orderId, bookIds));
+                            bookIds.clear();
+                        }
+                        orderId = rs.getLong("order_id");
+                        bookIds.add(rs.getLong("book_id"));
+                    }
+                    if (!bookIds.isEmpty()) {
+                        baskets.add(toBasket(orderId, bookIds));
+                    }
+                    return baskets;
+                });
+    }
+
+    private OrderBasket toBasket(long orderId, Set<Long> bookIds) {
+        return new OrderBasket(orderId, bookIds.stream().mapToLong(Long::longValue).toArray());
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.repository.shoppingcart;
+
+import java.math.BigDecimal;
+
+public record CartLine(Long cartId, Long itemId, Long bookId, String bookTitle,
+                       BigDecimal price, Integer quantity) {
+}
@@ -0,0 +1,8 @@
+package com.example.onlinebookstore.repository.shoppingcart;
+
+import java.util.List;
+
+public record CartSnapshot(Long userId, Long cartId, List<Item> items) {
+    public record Item(Long id, Long bookId, int quantity) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.onlinebookstore.repository.shoppingcart;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+@Repository
+@RequiredArgsConstructor
+public class CartSnapshotRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public long findMaxItemId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM cart_items",
+                new MapSqlParameterSource(), Long.class);
+        return maxId == null ? 0 : maxId;
+    }
+
+    public Optional<CartSnapshot> findByUserId(Long userId) {
+        List<Long> cartIds = new ArrayList<>(1);
+        List<CartSnapshot.Item> items = new ArrayList<>();
+        jdbcTemplate.query("SELECT sc.id AS cart_id, ci.id, ci.book_id, ci.quantity"
+                        + " FROM shopping_carts sc"
+                        + " LEFT JOIN cart_items ci ON ci.shopping_cart_id = sc.id"
+                        + " WHERE sc.user_id = :userId AND sc.is_deleted = FALSE ORDER BY ci.id",
+                new MapSqlParameterSource("userId", userId),
+                resultSet -> {
+                    if (cartIds.isEmpty()) {
+                        cartIds.add(resultSet.getLong("cart_id"));
+                    }
+                    long itemId = resultSet.getLong("id");
+                    if (!resultSet.wasNull()) {
+                        items.add(new CartSnapshot.Item(itemId, resultSet.getLong("book_id"),
+                                resultSet.getInt("quantity")));
+                    }
+                });
+        return cartIds.isEmpty()
+                ? Optional.empty()
+                : Optional.of(new CartSnapshot(userId, cartIds.get(0), items));
+    }
+
+    public Optional<Long> findUserIdByItemId(Long itemId) {
+        return jdbcTemplate.queryForList("SELECT sc.user_id FROM cart_items ci"
+                        + " JOIN shopping_carts sc ON sc.id = ci.shopping_cart_id"
+                        + " WHERE ci.id = :itemId",
+                new MapSqlParameterSource("itemId", itemId), Long.class)
+                .stream()
+                .findFirst();
+    }
+
+    public Map<Long, LocalDateTime> findLastOrderDates(Collection<Long> userIds) {
+        Map<Long, LocalDateTime> lastOrderDates = new HashMap<>();
+        jdbcTemplate.query("SELECT user_id, MAX(order_date) AS last_order_date FROM orders"
+                        + " WHERE user_id IN (:userIds) GROUP BY user_id",
+                new MapSqlParameterSource("userIds", userIds),
+                resultSet -> {
+                    lastOrderDates.put(resultSet.getLong("user_id"),
+                            resultSet.getTimestamp("last_order_date").toLocalDateTime());
+                });
+        return lastOrderDates;
+    }
+
+    public void saveAll(List<CartSnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM cart_items WHERE shopping_cart_id IN (:cartIds)",
+                new MapSqlParameterSource("cartIds", snapshots.stream()
+                        .map(CartSnapshot::cartId)
+                        .toList()));
+        SqlParameterSource[] batch = snapshots.stream()
+                .flatMap(snapshot -> snapshot.items().stream()
+                        .map(item -> new MapSqlParameterSource()
+                                .addValue("id", item.id())
+                                .addValue("cartId", snapshot.cartId())
+                                .addValue("bookId", item.bookId())
+                                .addValue("quantity", item.quantity())))
+                .toArray(SqlParameterSource[]::new);
+        if (batch.length > 0) {
+            jdbcTemplate.batchUpdate("INSERT INTO cart_items (id, shopping_cart_id, book_id,"
+                    + " quantity) VALUES (:id, :cartId, :bookId, :quantity)", batch);
+        }
+    }
+}
@@ -1,11 +1,29 @@
 package com.example.onlinebookstore.repository.shoppingcart;
 
 import com.example.onlinebookstore.model.ShoppingCart;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface ShoppingCartRepository extends JpaRepository<ShoppingCart, Long> {
     @EntityGraph(attributePaths = "cartItems")
     Optional<ShoppingCart> findByUserId(Long id);
+
+    @Query("SELECT new com.example.onlinebookstore.repository.shoppingcart.CartLine(sc.id, ci.id,"
+            + " b.id, b.title, b.price, ci.quantity) FROM ShoppingCart sc"
+            + " LEFT JOIN sc.cartItems ci LEFT JOIN ci.book b"
+            + " WHERE sc.user.id = :userId ORDER BY ci.id")
+    List<CartLine> findCartLinesByUserId(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO shopping_carts (user_id, is_deleted) VALUES (:userId, FALSE)"
+            + " ON DUPLICATE KEY UPDATE is_deleted = FALSE, deleted_at = NULL",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId);
 }
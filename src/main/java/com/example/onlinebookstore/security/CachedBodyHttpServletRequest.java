@@ -0,0 +1,83 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.exception.IdempotencyException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpStatus;
+
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+    private final byte[] body;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBodySize)
+            throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBodySize) {
+            throw bodyTooLarge(maxBodySize);
+        }
+        // read one byte past the limit to catch chunked bodies without a content length
+        byte[] read = request.getInputStream().readNBytes(maxBodySize + 1);
+        if (read.length > maxBodySize) {
+            throw bodyTooLarge(maxBodySize);
+        }
+        this.body = read;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream inputStream = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return inputStream.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // the body is already in memory, so it is available and complete right away
+                try {
+                    if (!isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return inputStream.read();
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        Charset charset = getCharacterEncoding() == null
+                ? StandardCharsets.UTF_8
+                : Charset.forName(getCharacterEncoding());
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+
+    private static IdempotencyException bodyTooLarge(int maxBodySize) {
+        return new IdempotencyException(HttpStatus.PAYLOAD_TOO_LARGE,
+                "Request body must not be larger than " + maxBodySize + " bytes");
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.exception.IdempotencyException;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.idempotency.IdempotentResponse;
+import com.example.onlinebookstore.service.idempotency.IdempotencyService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyService idempotencyService;
+    private final HandlerExceptionResolver handlerExceptionResolver;
+    private final int maxBodySize;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        String requestPath = request.getRequestURI()
+                .substring(request.getContextPath().length());
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (key == null || key.isBlank()
+                || !idempotencyService.supports(request.getMethod(), requestPath)
+                || authentication == null
+                || !(authentication.getPrincipal() instanceof User user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            handlerExceptionResolver.resolveException(request, response, null,
+                    new IdempotencyException(HttpStatus.BAD_REQUEST, "Idempotency key must not"
+                            + " be longer than " + MAX_KEY_LENGTH + " characters"));
+            return;
+        }
+        CachedBodyHttpServletRequest cachedRequest;
+        String requestHash;
+        Optional<IdempotentResponse> stored;
+        try {
+            cachedRequest = new CachedBodyHttpServletRequest(request, maxBodySize);
+            requestHash = hash(cachedRequest.getBody());
+            stored = idempotencyService.begin(user.getId(), key, requestPath, requestHash);
+        } catch (IdempotencyException e) {
+            handlerExceptionResolver.resolveException(request, response, null, e);
+            return;
+        }
+        if (stored.isPresent()) {
+            response.setHeader(REPLAYED_HEADER, "true");
+            write(response, stored.get());
+            return;
+        }
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        try {
+            filterChain.doFilter(cachedRequest, responseWrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            idempotencyService.release(user.getId(), key);
+            throw e;
+        }
+        try {
+            idempotencyService.complete(user.getId(), key, requestPath, requestHash,
+                    new IdempotentResponse(responseWrapper.getStatus(),
+                            responseWrapper.getContentType(),
+                            new String(responseWrapper.getContentAsByteArray(),
+                                    StandardCharsets.UTF_8)));
+        } finally {
+            responseWrapper.copyBodyToResponse();
+        }
+    }
+
+    private static String hash(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private void write(HttpServletResponse response, IdempotentResponse stored)
+            throws IOException {
+        response.setStatus(stored.status());
+        if (stored.contentType() != null) {
+            response.setContentType(stored.contentType());
+        }
+        if (stored.body() != null) {
+            byte[] body = stored.body().getBytes(StandardCharsets.UTF_8);
+            response.setContentLength(body.length);
+            response.getOutputStream().write(body);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.config.RateLimitProperties;
+import com.example.onlinebookstore.model.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+        RateLimitProperties.Route route =
+                rateLimiter.findRoute(request.getMethod(), request.getServletPath());
+        if (route != null) {
+            long waitNanos = rateLimiter.tryConsume(route, getClientKey(request, route));
+            if (waitNanos > 0) {
+                long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)
+                        / TimeUnit.SECONDS.toNanos(1));
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter));
+                return;
+            }
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String getClientKey(HttpServletRequest request, RateLimitProperties.Route route) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!route.isKeyedByIp() && authentication != null
+                && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
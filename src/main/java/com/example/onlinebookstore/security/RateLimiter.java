@@ -0,0 +1,47 @@
+package com.example.onlinebookstore.security;
+
+import com.example.onlinebookstore.config.RateLimitProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+@Component
+public class RateLimiter {
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final boolean enabled;
+    private final List<RateLimitProperties.Route> routes;
+    private final Cache<String, TokenBucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.routes = List.copyOf(properties.getRoutes());
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    public RateLimitProperties.Route findRoute(String method, String path) {
+        if (!enabled) {
+            return null;
+        }
+        for (RateLimitProperties.Route route : routes) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(method))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    public long tryConsume(RateLimitProperties.Route route, String clientKey) {
+        long now = System.nanoTime();
+        String key = routes.indexOf(route) + ":" + clientKey;
+        TokenBucket bucket = buckets.get(key, k -> new TokenBucket(route.getCapacity(),
+                route.getRefillTokens(), route.getRefillPeriod().toNanos(), now));
+        return bucket.tryConsume(now);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.onlinebookstore.security;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TokenBucket {
+    private final long capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    public TokenBucket(long capacity, long refillTokens, long refillPeriodNanos, long now) {
+        this.capacity = capacity;
+        this.tokensPerNano = (double) refillTokens / refillPeriodNanos;
+        this.state = new AtomicReference<>(new State(capacity, now));
+    }
+
+    public long tryConsume(long now) {
+        while (true) {
+            State current = state.get();
+            long elapsed = Math.max(0, now - current.updatedAt());
+            double tokens = Math.min(capacity, current.tokens() + elapsed * tokensPerNano);
+            if (tokens < 1) {
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+            }
+            State next = new State(tokens - 1, Math.max(now, current.updatedAt()));
+            if (state.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private record State(double tokens, long updatedAt) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.onlinebookstore.service.analytics;
+
+import com.example.onlinebookstore.dto.analytics.BookUnitsDto;
+import com.example.onlinebookstore.dto.analytics.CategorySalesDto;
+import com.example.onlinebookstore.dto.analytics.DailyRevenueDto;
+import com.example.onlinebookstore.dto.analytics.OrderStatusCountDto;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SalesAnalyticsService {
+    List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to);
+
+    List<CategorySalesDto> getCategorySales(LocalDate from, LocalDate to);
+
+    List<OrderStatusCountDto> getStatusCounts(LocalDate from, LocalDate to);
+
+    List<BookUnitsDto> getBookUnits(LocalDate from, LocalDate to, int limit);
+
+    void backfill();
+}
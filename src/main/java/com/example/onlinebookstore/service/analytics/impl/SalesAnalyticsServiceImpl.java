@@ -0,0 +1,135 @@
+package com.example.onlinebookstore.service.analytics.impl;
+
+import com.example.onlinebookstore.dto.analytics.BookUnitsDto;
+import com.example.onlinebookstore.dto.analytics.CategorySalesDto;
+import com.example.onlinebookstore.dto.analytics.DailyRevenueDto;
+import com.example.onlinebookstore.dto.analytics.OrderStatusCountDto;
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.analytics.CategorySalesDelta;
+import com.example.onlinebookstore.repository.analytics.OrderStatusDelta;
+import com.example.onlinebookstore.repository.analytics.SalesAnalyticsRepository;
+import com.example.onlinebookstore.service.analytics.SalesAnalyticsService;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import com.example.onlinebookstore.service.order.OrderStatusChangedEvent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@RequiredArgsConstructor
+public class SalesAnalyticsServiceImpl implements SalesAnalyticsService {
+    private final SalesAnalyticsRepository analyticsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${analytics.max-results}")
+    private int maxResults;
+
+    @Value("${analytics.backfill-chunk-days}")
+    private int backfillChunkDays;
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDate day = event.orderDate().toLocalDate();
+        long units = 0;
+        Map<Long, Long> unitsByCategory = new TreeMap<>();
+        Map<Long, BigDecimal> revenueByCategory = new TreeMap<>();
+        for (OrderPlacedEvent.OrderedBook book : event.books()) {
+            units += book.quantity();
+            BigDecimal revenue = book.price().multiply(BigDecimal.valueOf(book.quantity()));
+            for (Long categoryId : book.categoryIds()) {
+                unitsByCategory.merge(categoryId, (long) book.quantity(), Long::sum);
+                revenueByCategory.merge(categoryId, revenue, BigDecimal::add);
+            }
+        }
+        analyticsRepository.addDailyRevenue(day, 1, units, event.total());
+        if (!unitsByCategory.isEmpty()) {
+            analyticsRepository.addCategorySales(unitsByCategory.entrySet().stream()
+                    .map(entry -> new CategorySalesDelta(day, entry.getKey(), entry.getValue(),
+                            revenueByCategory.get(entry.getKey())))
+                    .toList());
+        }
+        analyticsRepository.addStatusCounts(List.of(
+                new OrderStatusDelta(day, Order.Status.PENDING.name(), 1)));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Map<LocalDate, Map<String, Long>> deltas = new TreeMap<>();
+        for (OrderStatusChangedEvent.StatusChange change : event.changes()) {
+            Map<String, Long> dayDeltas = deltas.computeIfAbsent(
+                    change.orderDate().toLocalDate(), day -> new TreeMap<>());
+            dayDeltas.merge(change.previousStatus().name(), -1L, Long::sum);
+            dayDeltas.merge(change.status().name(), 1L, Long::sum);
+        }
+        List<OrderStatusDelta> statusDeltas = new ArrayList<>();
+        deltas.forEach((day, dayDeltas) -> dayDeltas.forEach((status, orders) -> {
+            if (orders != 0) {
+                statusDeltas.add(new OrderStatusDelta(day, status, orders));
+            }
+        }));
+        if (!statusDeltas.isEmpty()) {
+            analyticsRepository.addStatusCounts(statusDeltas);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<DailyRevenueDto> getDailyRevenue(LocalDate from, LocalDate to) {
+        return analyticsRepository.findDailyRevenue(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<CategorySalesDto> getCategorySales(LocalDate from, LocalDate to) {
+        return analyticsRepository.findCategorySales(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<OrderStatusCountDto> getStatusCounts(LocalDate from, LocalDate to) {
+        return analyticsRepository.findStatusCounts(from, to);
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookUnitsDto> getBookUnits(LocalDate from, LocalDate to, int limit) {
+        return analyticsRepository.findBookUnits(from, to,
+                Math.max(0, Math.min(limit, maxResults)));
+    }
+
+    @Override
+    public void backfill() {
+        Optional<LocalDate> firstDay = analyticsRepository.findFirstOrderDay();
+        if (firstDay.isEmpty()) {
+            return;
+        }
+        LocalDate end = LocalDate.now().plusDays(1);
+        // newer hour buckets may still sit in unflushed bestseller counters
+        LocalDateTime rollupBefore = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                .minusHours(1);
+        for (LocalDate day = firstDay.get(); day.isBefore(end);
+                day = day.plusDays(backfillChunkDays)) {
+            LocalDate from = day;
+            LocalDate next = day.plusDays(backfillChunkDays);
+            LocalDate to = next.isBefore(end) ? next : end;
+            LocalDateTime rollupTo = to.atStartOfDay().isBefore(rollupBefore)
+                    ? to.atStartOfDay()
+                    : rollupBefore;
+            transactionTemplate.executeWithoutResult(
+                    status -> analyticsRepository.backfill(from, to, rollupTo));
+        }
+    }
+}
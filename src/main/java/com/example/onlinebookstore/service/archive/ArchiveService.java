@@ -0,0 +1,5 @@
+package com.example.onlinebookstore.service.archive;
+
+public interface ArchiveService {
+    int archiveSoftDeletedRows();
+}
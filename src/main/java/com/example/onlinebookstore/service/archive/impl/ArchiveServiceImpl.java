@@ -0,0 +1,77 @@
+package com.example.onlinebookstore.service.archive.impl;
+
+import com.example.onlinebookstore.repository.archive.ArchivedTable;
+import com.example.onlinebookstore.repository.archive.SoftDeleteArchiveRepository;
+import com.example.onlinebookstore.service.archive.ArchiveService;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.example.onlinebookstore.service.cache.impl.SecondLevelCacheInvalidationListener;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class ArchiveServiceImpl implements ArchiveService {
+    private static final Map<ArchivedTable, CacheRegion> CACHED_TABLES =
+            new EnumMap<>(Map.of(ArchivedTable.BOOKS, CacheRegion.BOOKS,
+                    ArchivedTable.CATEGORIES, CacheRegion.CATEGORIES));
+
+    private final SoftDeleteArchiveRepository archiveRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final SecondLevelCacheInvalidationListener secondLevelCache;
+    private final int retentionDays;
+    private final int chunkSize;
+
+    public ArchiveServiceImpl(SoftDeleteArchiveRepository archiveRepository,
+                              TransactionTemplate transactionTemplate,
+                              CacheInvalidationService cacheInvalidationService,
+                              SecondLevelCacheInvalidationListener secondLevelCache,
+                              @Value("${archive.retention-days}") int retentionDays,
+                              @Value("${archive.chunk-size}") int chunkSize) {
+        this.archiveRepository = archiveRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.cacheInvalidationService = cacheInvalidationService;
+        this.secondLevelCache = secondLevelCache;
+        this.retentionDays = retentionDays;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    @Scheduled(cron = "${archive.cron}")
+    public int archiveSoftDeletedRows() {
+        LocalDateTime deletedBefore = LocalDateTime.now().minusDays(retentionDays);
+        int archived = 0;
+        for (ArchivedTable table : ArchivedTable.values()) {
+            CacheRegion region = CACHED_TABLES.get(table);
+            List<Long> ids;
+            do {
+                ids = transactionTemplate.execute(status -> archiveChunk(table, deletedBefore));
+                archived += ids.size();
+                if (region != null) {
+                    // the native deletes bypass Hibernate, so evict this node's cache too
+                    ids.forEach(id -> secondLevelCache.evict(region, id));
+                }
+            } while (ids.size() == chunkSize);
+        }
+        return archived;
+    }
+
+    private List<Long> archiveChunk(ArchivedTable table, LocalDateTime deletedBefore) {
+        List<Long> ids = archiveRepository.findArchivableIds(table, deletedBefore, chunkSize);
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        archiveRepository.archive(table, ids);
+        CacheRegion region = CACHED_TABLES.get(table);
+        if (region != null) {
+            ids.forEach(id -> cacheInvalidationService.recordChange(region, id));
+        }
+        return ids;
+    }
+}
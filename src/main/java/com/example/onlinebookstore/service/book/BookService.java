@@ -1,9 +1,14 @@
 package com.example.onlinebookstore.service.book;
 
+import com.example.onlinebookstore.dto.book.BookCategoryFilter;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.dto.book.TopSellerDto;
 import java.util.List;
 import org.springframework.data.domain.Pageable;
 
@@ -19,7 +24,19 @@ public interface BookService {
 
     BookDto updateById(Long id, CreateBookRequestDto bookRequestDto);
 
-    List<BookDto> search(BookSearchParameters params);
+    List<BookDto> search(BookSearchParameters params, Pageable pageable);
+
+    BookFacetsDto getSearchFacets(BookSearchParameters params);
+
+    List<BookSuggestionDto> suggest(String query, int limit);
+
+    List<TopSellerDto> findTopSellers(SalesWindow window, int limit);
+
+    List<TopSellerDto> findTopSellersByCategoryId(Long categoryId, SalesWindow window, int limit);
+
+    List<BookDtoWithoutCategoryIds> findRelated(Long id, int limit);
 
     List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId);
+
+    List<BookDto> findAllByCategories(BookCategoryFilter filter, Pageable pageable);
 }
@@ -1,36 +1,65 @@
 package com.example.onlinebookstore.service.book.impl;
 
+import com.example.onlinebookstore.dto.book.BookCategoryFilter;
 import com.example.onlinebookstore.dto.book.BookDto;
 import com.example.onlinebookstore.dto.book.BookDtoWithoutCategoryIds;
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
 import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
 import com.example.onlinebookstore.dto.book.CreateBookRequestDto;
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.dto.book.TopSellerDto;
 import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.BookMapper;
 import com.example.onlinebookstore.model.Book;
 import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.book.BookRepository;
-import com.example.onlinebookstore.repository.book.BookSpecificationBuilder;
+import com.example.onlinebookstore.repository.book.BookSalesTotal;
+import com.example.onlinebookstore.repository.book.BookSearchRepository;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
 import com.example.onlinebookstore.service.book.BookService;
+import com.example.onlinebookstore.service.book.index.BookCategoryIndex;
+import com.example.onlinebookstore.service.book.index.BookSalesRanking;
+import com.example.onlinebookstore.service.book.index.BookSuggestIndex;
+import com.example.onlinebookstore.service.book.index.CatalogColumnStore;
+import com.example.onlinebookstore.service.book.index.RelatedBooksIndex;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.example.onlinebookstore.service.cache.SingleFlight;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @RequiredArgsConstructor
 @Service
 public class BookServiceImpl implements BookService {
     private final BookRepository bookRepository;
     private final BookMapper bookMapper;
-    private final BookSpecificationBuilder bookSpecificationBuilder;
+    private final BookSearchRepository bookSearchRepository;
     private final CategoryRepository categoryRepository;
+    private final CacheInvalidationService cacheInvalidationService;
+    private final SingleFlight singleFlight;
+    private final BookCategoryIndex bookCategoryIndex;
+    private final CatalogColumnStore catalogColumnStore;
+    private final BookSuggestIndex bookSuggestIndex;
+    private final BookSalesRanking bookSalesRanking;
+    private final RelatedBooksIndex relatedBooksIndex;
 
+    @Transactional(readOnly = true)
     @Override
     public List<BookDto> findAll(Pageable pageable) {
+        cacheInvalidationService.ensureFresh();
         return bookRepository.findAll(pageable).stream()
                 .map(bookMapper::toDto)
                 .toList();
@@ -38,27 +67,36 @@ public class BookServiceImpl implements BookService {
 
     @Override
     public BookDto findById(Long id) {
-        Book book = bookRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Can`t find book by id " + id)
-        );
-        return bookMapper.toDto(book);
+        cacheInvalidationService.ensureFresh();
+        return singleFlight.execute(List.of("book", id), () -> {
+            Book book = bookRepository.findById(id).orElseThrow(
+                    () -> new EntityNotFoundException("Can`t find book by id " + id)
+            );
+            return bookMapper.toDto(book);
+        });
     }
 
+    @Transactional
     @Override
     public BookDto save(CreateBookRequestDto bookDto) {
         Book book = bookMapper.toModel(bookDto);
         book.setCategories(getCategoriesByIds(bookDto.getCategoriesIds()));
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        cacheInvalidationService.recordChange(CacheRegion.BOOKS, savedBook.getId());
+        return bookMapper.toDto(savedBook);
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
         if (bookRepository.findById(id).isEmpty()) {
             throw new EntityNotFoundException("Can`t find book by id " + id);
         }
         bookRepository.deleteById(id);
+        cacheInvalidationService.recordChange(CacheRegion.BOOKS, id);
     }
 
+    @Transactional
     @Override
     public BookDto updateById(Long id, CreateBookRequestDto updateDto) {
         if (bookRepository.findById(id).isEmpty()) {
@@ -68,20 +106,39 @@ public class BookServiceImpl implements BookService {
         Book book = bookMapper.toModel(updateDto);
         book.setId(id);
         book.setCategories(categoriesByIds);
-        return bookMapper.toDto(bookRepository.save(book));
+        Book savedBook = bookRepository.save(book);
+        cacheInvalidationService.recordChange(CacheRegion.BOOKS, id);
+        return bookMapper.toDto(savedBook);
     }
 
     @Override
-    public List<BookDto> search(BookSearchParameters params) {
-        Specification<Book> bookSpecification = bookSpecificationBuilder.build(params);
-        return bookRepository.findAll(bookSpecification)
+    public List<BookDto> search(BookSearchParameters params, Pageable pageable) {
+        cacheInvalidationService.ensureFresh();
+        List<Object> key = Arrays.asList("search", toList(params.titles()),
+                toList(params.authors()), toList(params.isbns()), toList(params.categoryIds()),
+                params.minPrice(), params.maxPrice(), pageable);
+        return singleFlight.execute(key, () -> bookSearchRepository.search(params, pageable)
                 .stream()
                 .map(bookMapper::toDto)
-                .toList();
+                .toList());
     }
 
+    @Override
+    public BookFacetsDto getSearchFacets(BookSearchParameters params) {
+        cacheInvalidationService.ensureFresh();
+        return catalogColumnStore.computeFacets(params);
+    }
+
+    @Override
+    public List<BookSuggestionDto> suggest(String query, int limit) {
+        cacheInvalidationService.ensureFresh();
+        return bookSuggestIndex.suggest(query, limit);
+    }
+
+    @Transactional(readOnly = true)
     @Override
     public List<BookDtoWithoutCategoryIds> findAllByCategoryId(Long categoryId) {
+        cacheInvalidationService.ensureFresh();
         if (!bookRepository.existsById(categoryId)) {
             throw new EntityNotFoundException("Can`t find category by category id " + categoryId);
         }
@@ -90,6 +147,82 @@ public class BookServiceImpl implements BookService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookDto> findAllByCategories(BookCategoryFilter filter, Pageable pageable) {
+        cacheInvalidationService.ensureFresh();
+        List<Long> ids = bookCategoryIndex.findBookIds(filter, pageable.getOffset(),
+                pageable.getPageSize());
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findAllByIdIn(ids).stream()
+                .sorted(Comparator.comparing(Book::getId))
+                .map(bookMapper::toDto)
+                .toList();
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<TopSellerDto> findTopSellers(SalesWindow window, int limit) {
+        cacheInvalidationService.ensureFresh();
+        return toTopSellers(bookSalesRanking.findTop(window, bookId -> true, limit));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<TopSellerDto> findTopSellersByCategoryId(Long categoryId, SalesWindow window,
+                                                         int limit) {
+        cacheInvalidationService.ensureFresh();
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new EntityNotFoundException("Can`t find category by id " + categoryId);
+        }
+        Set<Long> bookIds = new HashSet<>(bookCategoryIndex.findBookIds(
+                new BookCategoryFilter(null, List.of(categoryId), null), 0, Integer.MAX_VALUE));
+        return toTopSellers(bookSalesRanking.findTop(window, bookIds::contains, limit));
+    }
+
+    @Transactional(readOnly = true)
+    @Override
+    public List<BookDtoWithoutCategoryIds> findRelated(Long id, int limit) {
+        cacheInvalidationService.ensureFresh();
+        if (!bookRepository.existsById(id)) {
+            throw new EntityNotFoundException("Can`t find book by id " + id);
+        }
+        List<Long> relatedIds = relatedBooksIndex.findRelatedBookIds(id, limit);
+        if (relatedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = bookRepository.findAllByIdIn(relatedIds).stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return relatedIds.stream()
+                .map(booksById::get)
+                .filter(Objects::nonNull)
+                .map(bookMapper::toDtoWithoutCategories)
+                .toList();
+    }
+
+    private List<TopSellerDto> toTopSellers(List<BookSalesTotal> totals) {
+        if (totals.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Book> booksById = bookRepository.findAllByIdIn(totals.stream()
+                        .map(BookSalesTotal::bookId)
+                        .toList())
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return totals.stream()
+                .filter(total -> booksById.containsKey(total.bookId()))
+                .map(total -> new TopSellerDto(
+                        bookMapper.toDtoWithoutCategories(booksById.get(total.bookId())),
+                        total.sold()))
+                .toList();
+    }
+
+    private <T> List<T> toList(T[] values) {
+        return values == null ? List.of() : Arrays.asList(values);
+    }
+
     private Set<Category> getCategoriesByIds(List<Long> ids) {
         if (ids.isEmpty()) {
             throw new EntityNotFoundException("Cant find categories by Empty ids list");
@@ -0,0 +1,176 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.dto.book.BookCategoryFilter;
+import com.example.onlinebookstore.repository.book.BookCategoryLink;
+import com.example.onlinebookstore.repository.book.BookCategoryLinkRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class BookCategoryIndex {
+    private final BookCategoryLinkRepository linkRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> booksByCategory = new HashMap<>();
+    private final RoaringBitmap allBooks = new RoaringBitmap();
+    private volatile boolean loaded;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            booksByCategory.clear();
+            allBooks.clear();
+            for (Long bookId : linkRepository.findAllBookIds()) {
+                allBooks.add(toIndex(bookId));
+            }
+            for (BookCategoryLink link : linkRepository.findAllLinks()) {
+                booksByCategory.computeIfAbsent(link.categoryId(), id -> new RoaringBitmap())
+                        .add(toIndex(link.bookId()));
+            }
+            booksByCategory.values().forEach(RoaringBitmap::runOptimize);
+            allBooks.runOptimize();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!loaded || !event.region().isCatalog()) {
+            return;
+        }
+        if (event.entityId() == null) {
+            rebuild();
+        } else if (event.region() == CacheRegion.BOOKS) {
+            refreshBook(event.entityId());
+        } else if (event.region() == CacheRegion.CATEGORIES) {
+            refreshCategory(event.entityId());
+        }
+    }
+
+    public List<Long> findBookIds(BookCategoryFilter filter, long offset, int limit) {
+        if (!loaded) {
+            rebuild();
+        }
+        RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            matches = match(filter);
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> bookIds = new ArrayList<>(Math.min(limit, matches.getCardinality()));
+        if (offset >= matches.getLongCardinality()) {
+            return bookIds;
+        }
+        PeekableIntIterator iterator = matches.getIntIterator();
+        iterator.advanceIfNeeded(matches.select((int) offset));
+        while (iterator.hasNext() && bookIds.size() < limit) {
+            bookIds.add((long) iterator.next());
+        }
+        return bookIds;
+    }
+
+    private RoaringBitmap match(BookCategoryFilter filter) {
+        RoaringBitmap any = union(filter.anyCategories());
+        RoaringBitmap matches;
+        if (!isEmpty(filter.allCategories())) {
+            matches = intersection(filter.allCategories());
+            if (!isEmpty(filter.anyCategories())) {
+                matches.and(any);
+            }
+        } else if (!isEmpty(filter.anyCategories())) {
+            matches = any;
+        } else {
+            matches = allBooks.clone();
+        }
+        if (!isEmpty(filter.excludedCategories())) {
+            matches.andNot(union(filter.excludedCategories()));
+        }
+        return matches;
+    }
+
+    private RoaringBitmap intersection(List<Long> categoryIds) {
+        RoaringBitmap result = getBooks(categoryIds.get(0)).clone();
+        for (int i = 1; i < categoryIds.size() && !result.isEmpty(); i++) {
+            result.and(getBooks(categoryIds.get(i)));
+        }
+        return result;
+    }
+
+    private RoaringBitmap union(List<Long> categoryIds) {
+        if (isEmpty(categoryIds)) {
+            return new RoaringBitmap();
+        }
+        return RoaringBitmap.or(categoryIds.stream().map(this::getBooks).iterator());
+    }
+
+    private RoaringBitmap getBooks(Long categoryId) {
+        RoaringBitmap books = booksByCategory.get(categoryId);
+        return books == null ? new RoaringBitmap() : books;
+    }
+
+    private void refreshBook(long bookId) {
+        boolean exists = linkRepository.existsBook(bookId);
+        List<Long> categoryIds = exists
+                ? linkRepository.findCategoryIdsByBookId(bookId)
+                : List.of();
+        int index = toIndex(bookId);
+        lock.writeLock().lock();
+        try {
+            booksByCategory.values().forEach(books -> books.remove(index));
+            if (exists) {
+                allBooks.add(index);
+                for (Long categoryId : categoryIds) {
+                    booksByCategory.computeIfAbsent(categoryId, id -> new RoaringBitmap())
+                            .add(index);
+                }
+            } else {
+                allBooks.remove(index);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void refreshCategory(long categoryId) {
+        RoaringBitmap books = new RoaringBitmap();
+        for (Long bookId : linkRepository.findBookIdsByCategoryId(categoryId)) {
+            books.add(toIndex(bookId));
+        }
+        books.runOptimize();
+        lock.writeLock().lock();
+        try {
+            if (books.isEmpty()) {
+                booksByCategory.remove(categoryId);
+            } else {
+                booksByCategory.put(categoryId, books);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static int toIndex(long bookId) {
+        return Math.toIntExact(bookId);
+    }
+
+    private static boolean isEmpty(List<Long> ids) {
+        return ids == null || ids.isEmpty();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.repository.book.BookSalesRollup;
+import com.example.onlinebookstore.repository.book.BookSalesRollupRepository;
+import com.example.onlinebookstore.repository.book.BookSalesTotal;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongPredicate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class BookSalesRanking {
+    private static final Comparator<BookSalesTotal> BEST_SELLERS_FIRST = Comparator
+            .comparingLong(BookSalesTotal::sold).reversed()
+            .thenComparing(BookSalesTotal::bookId);
+    private static final Duration HOURLY_RETENTION = Duration.ofDays(8);
+
+    private final BookSalesRollupRepository rollupRepository;
+    private final int maxResults;
+    private final ConcurrentMap<LocalDateTime, ConcurrentMap<Long, LongAdder>> pending =
+            new ConcurrentHashMap<>();
+    private final Map<Long, Long> totals = new HashMap<>();
+    private final NavigableMap<LocalDateTime, Map<Long, Long>> recent = new TreeMap<>();
+    private volatile Map<SalesWindow, List<BookSalesTotal>> rankings =
+            new EnumMap<>(SalesWindow.class);
+    private volatile Map<Long, Long> soldQuantities = Map.of();
+
+    public BookSalesRanking(BookSalesRollupRepository rollupRepository,
+                            @Value("${catalog.top-sellers.max-results}") int maxResults) {
+        this.rollupRepository = rollupRepository;
+        this.maxResults = maxResults;
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        LocalDateTime bucket = event.orderDate().truncatedTo(ChronoUnit.HOURS);
+        ConcurrentMap<Long, LongAdder> counters = pending.computeIfAbsent(bucket,
+                key -> new ConcurrentHashMap<>());
+        event.quantitiesByBookId().forEach((bookId, quantity) ->
+                counters.computeIfAbsent(bookId, id -> new LongAdder()).add(quantity));
+        if (pending.get(bucket) != counters) {
+            // a flush retired the bucket while we were counting into it
+            requeue(bucket, counters);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.top-sellers.flush-interval}")
+    public synchronized void flush() {
+        LocalDateTime retainFrom = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        List<BookSalesRollup> rollups = new ArrayList<>();
+        Iterator<Map.Entry<LocalDateTime, ConcurrentMap<Long, LongAdder>>> buckets =
+                pending.entrySet().iterator();
+        while (buckets.hasNext()) {
+            Map.Entry<LocalDateTime, ConcurrentMap<Long, LongAdder>> bucket = buckets.next();
+            if (bucket.getKey().isBefore(retainFrom)) {
+                buckets.remove();
+            }
+            drain(bucket.getKey(), bucket.getValue(), rollups);
+        }
+        if (!rollups.isEmpty()) {
+            try {
+                rollupRepository.add(rollups);
+            } catch (RuntimeException e) {
+                rollups.forEach(this::restore);
+                throw e;
+            }
+            rollups.forEach(this::apply);
+            publishRankings();
+        }
+    }
+
+    @Scheduled(initialDelayString = "${catalog.top-sellers.reload-interval}",
+            fixedDelayString = "${catalog.top-sellers.reload-interval}")
+    public void reload() {
+        rollupRepository.compactBefore(LocalDateTime.now().truncatedTo(ChronoUnit.DAYS)
+                .minus(HOURLY_RETENTION));
+        refreshRankings();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public synchronized void refreshRankings() {
+        totals.clear();
+        recent.clear();
+        rollupRepository.findTotals().forEach(total -> totals.put(total.bookId(), total.sold()));
+        rollupRepository.findRollupsSince(LocalDateTime.now().truncatedTo(ChronoUnit.HOURS)
+                        .minus(HOURLY_RETENTION))
+                .forEach(rollup -> recent.computeIfAbsent(rollup.bucketStart(),
+                                bucket -> new HashMap<>())
+                        .merge(rollup.bookId(), rollup.quantity(), Long::sum));
+        publishRankings();
+    }
+
+    public Map<Long, Long> getSoldQuantities() {
+        return soldQuantities;
+    }
+
+    public List<BookSalesTotal> findTop(SalesWindow window, LongPredicate bookFilter, int limit) {
+        return rankings.getOrDefault(window, List.of()).stream()
+                .filter(total -> bookFilter.test(total.bookId()))
+                .limit(Math.max(0, Math.min(limit, maxResults)))
+                .toList();
+    }
+
+    private void drain(LocalDateTime bucket, ConcurrentMap<Long, LongAdder> counters,
+                       List<BookSalesRollup> rollups) {
+        counters.forEach((bookId, counter) -> {
+            long quantity = counter.sum();
+            if (quantity != 0) {
+                // subtract only what was read so increments racing with the flush are kept
+                counter.add(-quantity);
+                rollups.add(new BookSalesRollup(bookId, bucket, quantity));
+            }
+        });
+    }
+
+    private synchronized void requeue(LocalDateTime bucket,
+                                      ConcurrentMap<Long, LongAdder> counters) {
+        List<BookSalesRollup> rollups = new ArrayList<>();
+        drain(bucket, counters, rollups);
+        rollups.forEach(this::restore);
+    }
+
+    private void apply(BookSalesRollup rollup) {
+        totals.merge(rollup.bookId(), rollup.quantity(), Long::sum);
+        recent.computeIfAbsent(rollup.bucketStart(), bucket -> new HashMap<>())
+                .merge(rollup.bookId(), rollup.quantity(), Long::sum);
+    }
+
+    private void publishRankings() {
+        LocalDateTime currentBucket = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        recent.headMap(currentBucket.minus(HOURLY_RETENTION)).clear();
+        Map<SalesWindow, List<BookSalesTotal>> refreshed = new EnumMap<>(SalesWindow.class);
+        for (SalesWindow window : SalesWindow.values()) {
+            Map<Long, Long> sold = window.getDuration() == null ? totals
+                    : sumSince(currentBucket.minus(window.getDuration()).plusHours(1));
+            refreshed.put(window, sold.entrySet().stream()
+                    .filter(entry -> entry.getValue() > 0)
+                    .map(entry -> new BookSalesTotal(entry.getKey(), entry.getValue()))
+                    .sorted(BEST_SELLERS_FIRST)
+                    .toList());
+        }
+        rankings = refreshed;
+        soldQuantities = Map.copyOf(totals);
+    }
+
+    private Map<Long, Long> sumSince(LocalDateTime since) {
+        Map<Long, Long> sold = new HashMap<>();
+        recent.tailMap(since).values().forEach(bucket -> bucket.forEach((bookId, quantity) ->
+                sold.merge(bookId, quantity, Long::sum)));
+        return sold;
+    }
+
+    private void restore(BookSalesRollup rollup) {
+        pending.computeIfAbsent(rollup.bucketStart(), bucket -> new ConcurrentHashMap<>())
+                .computeIfAbsent(rollup.bookId(), id -> new LongAdder())
+                .add(rollup.quantity());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
+import com.example.onlinebookstore.repository.book.BookCatalogRepository;
+import com.example.onlinebookstore.repository.book.BookCatalogRow;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class BookSuggestIndex {
+    private static final String TITLE = "title";
+    private static final String AUTHOR = "author";
+
+    private final BookCatalogRepository catalogRepository;
+    private final BookSalesRanking salesRanking;
+    private final int maxResults;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, IndexedBook> books = new HashMap<>();
+    private SuggestionTrie trie;
+    private volatile boolean loaded;
+
+    public BookSuggestIndex(BookCatalogRepository catalogRepository,
+                            BookSalesRanking salesRanking,
+                            @Value("${catalog.suggest.max-results}") int maxResults) {
+        this.catalogRepository = catalogRepository;
+        this.salesRanking = salesRanking;
+        this.maxResults = maxResults;
+        this.trie = new SuggestionTrie(maxResults);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookCatalogRow> rows = catalogRepository.findAllRows();
+        Map<Long, Long> soldQuantities = salesRanking.getSoldQuantities();
+        SuggestionTrie rebuilt = new SuggestionTrie(maxResults);
+        Map<Long, IndexedBook> indexed = new HashMap<>();
+        for (BookCatalogRow row : rows) {
+            IndexedBook book = new IndexedBook(row.title(), row.author(),
+                    soldQuantities.getOrDefault(row.id(), 0L));
+            add(rebuilt, book);
+            indexed.put(row.id(), book);
+        }
+        lock.writeLock().lock();
+        try {
+            trie = rebuilt;
+            books.clear();
+            books.putAll(indexed);
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!loaded || !event.region().isCatalog()) {
+            return;
+        }
+        if (event.entityId() == null) {
+            rebuild();
+        } else if (event.region() == CacheRegion.BOOKS) {
+            refreshBook(event.entityId());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.popularity-refresh-interval}")
+    public void refreshPopularity() {
+        if (!loaded) {
+            return;
+        }
+        Map<Long, Long> soldQuantities = salesRanking.getSoldQuantities();
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<Long, IndexedBook> entry : books.entrySet()) {
+                IndexedBook book = entry.getValue();
+                long sold = soldQuantities.getOrDefault(entry.getKey(), 0L);
+                if (book.sold() != sold) {
+                    IndexedBook updated = new IndexedBook(book.title(), book.author(), sold);
+                    remove(trie, book);
+                    add(trie, updated);
+                    entry.setValue(updated);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<BookSuggestionDto> suggest(String query, int limit) {
+        if (!loaded) {
+            rebuild();
+        }
+        lock.readLock().lock();
+        try {
+            return trie.find(query, Math.max(0, Math.min(limit, maxResults))).stream()
+                    .map(entry -> new BookSuggestionDto(entry.text(), entry.field()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void refreshBook(long bookId) {
+        Optional<BookCatalogRow> row = catalogRepository.findRowById(bookId);
+        lock.writeLock().lock();
+        try {
+            IndexedBook previous = books.remove(bookId);
+            long sold = 0;
+            if (previous != null) {
+                remove(trie, previous);
+                sold = previous.sold();
+            }
+            if (row.isPresent()) {
+                IndexedBook book = new IndexedBook(row.get().title(), row.get().author(), sold);
+                add(trie, book);
+                books.put(bookId, book);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void add(SuggestionTrie trie, IndexedBook book) {
+        trie.add(TITLE, book.title(), book.sold());
+        trie.add(AUTHOR, book.author(), book.sold());
+    }
+
+    private static void remove(SuggestionTrie trie, IndexedBook book) {
+        trie.remove(TITLE, book.title(), book.sold());
+        trie.remove(AUTHOR, book.author(), book.sold());
+    }
+
+    private record IndexedBook(String title, String author, long sold) {
+    }
+}
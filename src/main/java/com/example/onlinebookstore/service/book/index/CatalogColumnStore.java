@@ -0,0 +1,89 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.FacetCountDto;
+import com.example.onlinebookstore.dto.book.PriceBucketCountDto;
+import com.example.onlinebookstore.repository.book.BookCatalogRepository;
+import com.example.onlinebookstore.repository.book.BookCategoryLinkRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CatalogColumnStore {
+    private final BookCatalogRepository catalogRepository;
+    private final BookCategoryLinkRepository linkRepository;
+    private final BigDecimal[] priceBoundaries;
+    private final int maxFacetValues;
+    private volatile CatalogColumns columns;
+    private volatile boolean stale = true;
+
+    public CatalogColumnStore(BookCatalogRepository catalogRepository,
+                              BookCategoryLinkRepository linkRepository,
+                              @Value("${catalog.facets.price-buckets}")
+                              BigDecimal[] priceBoundaries,
+                              @Value("${catalog.facets.max-values}") int maxFacetValues) {
+        this.catalogRepository = catalogRepository;
+        this.linkRepository = linkRepository;
+        this.priceBoundaries = priceBoundaries.clone();
+        Arrays.sort(this.priceBoundaries);
+        this.maxFacetValues = maxFacetValues;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.region().isCatalog()) {
+            stale = true;
+        }
+    }
+
+    public BookFacetsDto computeFacets(BookSearchParameters params) {
+        CatalogColumns current = getColumns();
+        RoaringBitmap rows = current.match(params);
+        List<FacetCountDto> categories = current.countCategories(rows).stream()
+                .map(count -> new FacetCountDto(String.valueOf(count.value()), count.count()))
+                .sorted(Comparator.comparingLong(FacetCountDto::count).reversed())
+                .limit(maxFacetValues)
+                .toList();
+        List<FacetCountDto> authors = current.countAuthors(rows).stream()
+                .map(count -> new FacetCountDto(count.value(), count.count()))
+                .sorted(Comparator.comparingLong(FacetCountDto::count).reversed())
+                .limit(maxFacetValues)
+                .toList();
+        long[] bucketCounts = current.countPriceBuckets(rows, priceBoundaries);
+        List<PriceBucketCountDto> priceBuckets = new ArrayList<>(bucketCounts.length);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            priceBuckets.add(new PriceBucketCountDto(
+                    i == 0 ? null : priceBoundaries[i - 1],
+                    i == priceBoundaries.length ? null : priceBoundaries[i],
+                    bucketCounts[i]));
+        }
+        return new BookFacetsDto(rows.getLongCardinality(), categories, authors, priceBuckets);
+    }
+
+    private CatalogColumns getColumns() {
+        if (stale) {
+            synchronized (this) {
+                if (stale) {
+                    stale = false;
+                    try {
+                        columns = new CatalogColumns(catalogRepository.findAllRows(),
+                                linkRepository.findAllLinks());
+                    } catch (RuntimeException e) {
+                        stale = true;
+                        throw e;
+                    }
+                }
+            }
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.repository.book.BookCatalogRow;
+import com.example.onlinebookstore.repository.book.BookCategoryLink;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.roaringbitmap.RoaringBitmap;
+
+class CatalogColumns {
+    private final int size;
+    private final long[] priceCents;
+    private final int[] authorCodes;
+    private final List<String> authors = new ArrayList<>();
+    private final Map<String, RoaringBitmap> rowsByTitle = new HashMap<>();
+    private final Map<String, RoaringBitmap> rowsByAuthor = new HashMap<>();
+    private final Map<String, RoaringBitmap> rowsByIsbn = new HashMap<>();
+    private final Map<Long, RoaringBitmap> rowsByCategory = new HashMap<>();
+
+    CatalogColumns(List<BookCatalogRow> books, List<BookCategoryLink> links) {
+        size = books.size();
+        priceCents = new long[size];
+        authorCodes = new int[size];
+        Map<Long, Integer> rowByBookId = new HashMap<>();
+        Map<String, Integer> authorCodeByName = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            BookCatalogRow book = books.get(row);
+            rowByBookId.put(book.id(), row);
+            priceCents[row] = toCents(book.price(), RoundingMode.HALF_UP);
+            authorCodes[row] = authorCodeByName.computeIfAbsent(normalize(book.author()),
+                    author -> {
+                        authors.add(book.author());
+                        return authors.size() - 1;
+                    });
+            addRow(rowsByTitle, normalize(book.title()), row);
+            addRow(rowsByAuthor, normalize(book.author()), row);
+            addRow(rowsByIsbn, normalize(book.isbn()), row);
+        }
+        for (BookCategoryLink link : links) {
+            Integer row = rowByBookId.get(link.bookId());
+            if (row != null) {
+                addRow(rowsByCategory, link.categoryId(), row);
+            }
+        }
+        rowsByCategory.values().forEach(RoaringBitmap::runOptimize);
+    }
+
+    RoaringBitmap match(BookSearchParameters params) {
+        RoaringBitmap rows = RoaringBitmap.bitmapOfRange(0, size);
+        filter(rows, rowsByTitle, normalize(params.titles()));
+        filter(rows, rowsByAuthor, normalize(params.authors()));
+        filter(rows, rowsByIsbn, normalize(params.isbns()));
+        filter(rows, rowsByCategory, params.categoryIds());
+        if (params.minPrice() == null && params.maxPrice() == null) {
+            return rows;
+        }
+        long min = params.minPrice() == null
+                ? Long.MIN_VALUE
+                : toCents(params.minPrice(), RoundingMode.CEILING);
+        long max = params.maxPrice() == null
+                ? Long.MAX_VALUE
+                : toCents(params.maxPrice(), RoundingMode.FLOOR);
+        RoaringBitmap inRange = new RoaringBitmap();
+        rows.forEach((int row) -> {
+            if (priceCents[row] >= min && priceCents[row] <= max) {
+                inRange.add(row);
+            }
+        });
+        return inRange;
+    }
+
+    List<FacetCount<Long>> countCategories(RoaringBitmap rows) {
+        List<FacetCount<Long>> counts = new ArrayList<>();
+        rowsByCategory.forEach((categoryId, categoryRows) -> {
+            long count = RoaringBitmap.andCardinality(rows, categoryRows);
+            if (count > 0) {
+                counts.add(new FacetCount<>(categoryId, count));
+            }
+        });
+        return counts;
+    }
+
+    List<FacetCount<String>> countAuthors(RoaringBitmap rows) {
+        long[] counts = new long[authors.size()];
+        rows.forEach((int row) -> counts[authorCodes[row]]++);
+        List<FacetCount<String>> result = new ArrayList<>();
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                result.add(new FacetCount<>(authors.get(code), counts[code]));
+            }
+        }
+        return result;
+    }
+
+    long[] countPriceBuckets(RoaringBitmap rows, BigDecimal[] boundaries) {
+        long[] boundaryCents = Arrays.stream(boundaries)
+                .mapToLong(boundary -> toCents(boundary, RoundingMode.HALF_UP))
+                .toArray();
+        long[] counts = new long[boundaryCents.length + 1];
+        rows.forEach((int row) -> {
+            int bucket = Arrays.binarySearch(boundaryCents, priceCents[row]);
+            counts[bucket >= 0 ? bucket + 1 : -bucket - 1]++;
+        });
+        return counts;
+    }
+
+    private static <K> void filter(RoaringBitmap rows, Map<K, RoaringBitmap> column,
+                                   K[] values) {
+        if (values == null || values.length == 0) {
+            return;
+        }
+        rows.and(RoaringBitmap.or(Arrays.stream(values)
+                .map(value -> column.getOrDefault(value, new RoaringBitmap()))
+                .iterator()));
+    }
+
+    private static <K> void addRow(Map<K, RoaringBitmap> column, K key, int row) {
+        if (key != null) {
+            column.computeIfAbsent(key, k -> new RoaringBitmap()).add(row);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String[] normalize(String[] values) {
+        return values == null
+                ? null
+                : Arrays.stream(values).map(CatalogColumns::normalize).toArray(String[]::new);
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode roundingMode) {
+        return price.movePointRight(2).setScale(0, roundingMode).longValueExact();
+    }
+
+    record FacetCount<T>(T value, long count) {
+    }
+}
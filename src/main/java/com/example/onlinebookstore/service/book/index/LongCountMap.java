@@ -0,0 +1,101 @@
+package com.example.onlinebookstore.service.book.index;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+final class LongCountMap {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private long[] counts;
+    private int size;
+
+    LongCountMap() {
+        this(4);
+    }
+
+    LongCountMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        counts = new long[capacity];
+    }
+
+    void add(long key, long delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key must not be " + EMPTY);
+        }
+        int slot = slotOf(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            counts[slot] = delta;
+            if (++size * 4 > keys.length * 3) {
+                resize();
+            }
+        } else {
+            counts[slot] += delta;
+        }
+    }
+
+    void addAll(LongCountMap other) {
+        for (int slot = 0; slot < other.keys.length; slot++) {
+            if (other.keys[slot] != EMPTY) {
+                add(other.keys[slot], other.counts[slot]);
+            }
+        }
+    }
+
+    long get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == EMPTY ? 0 : counts[slot];
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] topKeys(int limit) {
+        Integer[] slots = IntStream.range(0, keys.length)
+                .filter(slot -> keys[slot] != EMPTY)
+                .boxed()
+                .toArray(Integer[]::new);
+        Arrays.sort(slots, Comparator.comparingLong((Integer slot) -> counts[slot]).reversed()
+                .thenComparingLong(slot -> keys[slot]));
+        return Arrays.stream(slots)
+                .limit(Math.max(0, limit))
+                .mapToLong(slot -> keys[slot])
+                .toArray();
+    }
+
+    LongCountMap retainTop(int limit) {
+        long[] top = topKeys(limit);
+        LongCountMap retained = new LongCountMap(top.length);
+        for (long key : top) {
+            retained.add(key, get(key));
+        }
+        return retained;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldCounts = counts;
+        keys = new long[oldKeys.length * 2];
+        counts = new long[oldCounts.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int newSlot = slotOf(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                counts[newSlot] = oldCounts[slot];
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.onlinebookstore.service.book.index;
+
+import java.util.function.LongFunction;
+
+final class LongObjectMap<V> {
+    private static final long EMPTY = 0;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+
+    LongObjectMap() {
+        keys = new long[16];
+        values = new Object[16];
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        int slot = slotOf(key);
+        return keys[slot] == EMPTY ? null : (V) values[slot];
+    }
+
+    void put(long key, V value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key must not be " + EMPTY);
+        }
+        int slot = slotOf(key);
+        values[slot] = value;
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            if (++size * 4 > keys.length * 3) {
+                resize();
+            }
+        }
+    }
+
+    V computeIfAbsent(long key, LongFunction<V> mappingFunction) {
+        V value = get(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] keys() {
+        long[] result = new long[size];
+        int index = 0;
+        for (long key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        return result;
+    }
+
+    private int slotOf(long key) {
+        int mask = keys.length - 1;
+        int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new Object[oldValues.length * 2];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldKeys[slot] != EMPTY) {
+                int newSlot = slotOf(oldKeys[slot]);
+                keys[newSlot] = oldKeys[slot];
+                values[newSlot] = oldValues[slot];
+            }
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.onlinebookstore.service.book.index;
+
+import com.example.onlinebookstore.repository.orderitem.OrderBasket;
+import com.example.onlinebookstore.repository.orderitem.OrderBasketRepository;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class RelatedBooksIndex {
+    private final OrderBasketRepository basketRepository;
+    private final int maxNeighbours;
+    private final int rebuildBatchSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<OrderPlacedEvent> eventsDuringRebuild = new ArrayList<>();
+    private LongObjectMap<LongCountMap> rows = new LongObjectMap<>();
+    private boolean rebuilding;
+
+    public RelatedBooksIndex(OrderBasketRepository basketRepository,
+                             @Value("${catalog.related.max-neighbours}") int maxNeighbours,
+                             @Value("${catalog.related.rebuild-batch-size}")
+                             int rebuildBatchSize) {
+        this.basketRepository = basketRepository;
+        this.maxNeighbours = maxNeighbours;
+        this.rebuildBatchSize = rebuildBatchSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        setRebuilding(true);
+        LongObjectMap<LongCountMap> rebuilt = new LongObjectMap<>();
+        BitSet scannedOrderIds = new BitSet();
+        try {
+            long maxOrderId = basketRepository.findMaxOrderId();
+            for (long fromId = 0; fromId < maxOrderId; fromId += rebuildBatchSize) {
+                List<OrderBasket> baskets = basketRepository.findBaskets(fromId,
+                        Math.min(fromId + rebuildBatchSize, maxOrderId));
+                baskets.forEach(basket -> scannedOrderIds.set(Math.toIntExact(basket.orderId())));
+                merge(rebuilt, baskets.parallelStream().collect(LongObjectMap::new,
+                        (matrix, basket) -> addBasket(matrix, basket.bookIds()),
+                        RelatedBooksIndex::merge));
+                prune(rebuilt, rebuilt.keys());
+            }
+        } catch (RuntimeException e) {
+            setRebuilding(false);
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            for (OrderPlacedEvent event : eventsDuringRebuild) {
+                // an order may commit below the max id after its range was already scanned
+                if (event.orderId() > Integer.MAX_VALUE
+                        || !scannedOrderIds.get(event.orderId().intValue())) {
+                    long[] bookIds = toBookIds(event);
+                    addBasket(rebuilt, bookIds);
+                    prune(rebuilt, bookIds);
+                }
+            }
+            rows = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        setRebuilding(false);
+    }
+
+    @TransactionalEventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        long[] bookIds = toBookIds(event);
+        lock.writeLock().lock();
+        try {
+            addBasket(rows, bookIds);
+            prune(rows, bookIds);
+            if (rebuilding) {
+                eventsDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Long> findRelatedBookIds(Long bookId, int limit) {
+        lock.readLock().lock();
+        try {
+            LongCountMap row = rows.get(bookId);
+            if (row == null) {
+                return List.of();
+            }
+            return Arrays.stream(row.topKeys(Math.min(limit, maxNeighbours))).boxed().toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void setRebuilding(boolean rebuilding) {
+        lock.writeLock().lock();
+        try {
+            this.rebuilding = rebuilding;
+            eventsDuringRebuild.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void prune(LongObjectMap<LongCountMap> matrix, long[] bookIds) {
+        for (long bookId : bookIds) {
+            LongCountMap row = matrix.get(bookId);
+            if (row != null && row.size() > maxNeighbours * 4) {
+                matrix.put(bookId, row.retainTop(maxNeighbours * 2));
+            }
+        }
+    }
+
+    private static void addBasket(LongObjectMap<LongCountMap> matrix, long[] bookIds) {
+        for (long bookId : bookIds) {
+            LongCountMap row = matrix.computeIfAbsent(bookId, id -> new LongCountMap());
+            for (long otherBookId : bookIds) {
+                if (otherBookId != bookId) {
+                    row.add(otherBookId, 1);
+                }
+            }
+        }
+    }
+
+    private static void merge(LongObjectMap<LongCountMap> target,
+                              LongObjectMap<LongCountMap> source) {
+        for (long bookId : source.keys()) {
+            LongCountMap row = source.get(bookId);
+            LongCountMap existing = target.get(bookId);
+            if (existing == null) {
+                target.put(bookId, row);
+            } else {
+                existing.addAll(row);
+            }
+        }
+    }
+
+    private static long[] toBookIds(OrderPlacedEvent event) {
+        return event.quantitiesByBookId().keySet().stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.onlinebookstore.service.book.index;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+final class SuggestionTrie {
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+    private static final Comparator<Entry> BY_RANK = Comparator
+            .comparingLong((Entry entry) -> entry.score).reversed()
+            .thenComparing(entry -> entry.text);
+
+    private final int capacity;
+    private final Node root = new Node();
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    SuggestionTrie(int capacity) {
+        this.capacity = capacity;
+    }
+
+    void add(String field, String text, long score) {
+        update(field, text, 1, score);
+    }
+
+    void remove(String field, String text, long score) {
+        update(field, text, -1, -score);
+    }
+
+    List<Entry> find(String prefix, int limit) {
+        String normalized = normalize(prefix);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        for (int i = 0; i < normalized.length() && node != null; i++) {
+            node = node.children.get(normalized.charAt(i));
+        }
+        if (node == null) {
+            return List.of();
+        }
+        Entry[] top = node.top;
+        return List.of(Arrays.copyOf(top, Math.min(limit, top.length)));
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        String stripped = DIACRITICS.matcher(decomposed).replaceAll("");
+        return SEPARATORS.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private void update(String field, String text, int bookDelta, long scoreDelta) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String key = field + ':' + normalized;
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            if (bookDelta < 0) {
+                return;
+            }
+            entry = new Entry(field, text.trim());
+            entries.put(key, entry);
+        }
+        entry.books += bookDelta;
+        entry.score += scoreDelta;
+        boolean removed = entry.books <= 0;
+        if (removed) {
+            entries.remove(key);
+        }
+        for (int start = 0; start < normalized.length(); start++) {
+            if (start == 0 || normalized.charAt(start - 1) == ' ') {
+                updatePath(normalized.substring(start), entry, removed);
+            }
+        }
+    }
+
+    private void updatePath(String term, Entry entry, boolean removed) {
+        Deque<Node> path = new ArrayDeque<>(term.length() + 1);
+        Node node = root;
+        path.push(node);
+        for (int i = 0; i < term.length(); i++) {
+            node = node.children.computeIfAbsent(term.charAt(i), c -> new Node());
+            path.push(node);
+        }
+        if (removed) {
+            node.terminal.remove(entry);
+        } else {
+            node.terminal.add(entry);
+        }
+        for (int i = term.length() - 1; i >= 0; i--) {
+            Node child = path.pop();
+            Node parent = path.peek();
+            if (child.terminal.isEmpty() && child.children.isEmpty()) {
+                parent.children.remove(term.charAt(i));
+            } else {
+                child.top = rank(child);
+            }
+        }
+        root.top = rank(root);
+    }
+
+    private Entry[] rank(Node node) {
+        Set<Entry> candidates = new LinkedHashSet<>(node.terminal);
+        for (Node child : node.children.values()) {
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        if (candidates.isEmpty()) {
+            return NO_ENTRIES;
+        }
+        List<Entry> ranked = new ArrayList<>(candidates);
+        ranked.sort(BY_RANK);
+        return ranked.subList(0, Math.min(capacity, ranked.size())).toArray(NO_ENTRIES);
+    }
+
+    static final class Entry {
+        private final String field;
+        private final String text;
+        private int books;
+        private long score;
+
+        private Entry(String field, String text) {
+            this.field = field;
+            this.text = text;
+        }
+
+        String field() {
+            return field;
+        }
+
+        String text() {
+            return text;
+        }
+    }
+
+    private static final class Node {
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final Set<Entry> terminal = new LinkedHashSet<>(2);
+        private Entry[] top = NO_ENTRIES;
+    }
+}
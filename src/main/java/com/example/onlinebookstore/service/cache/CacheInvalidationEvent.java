@@ -0,0 +1,8 @@
+package com.example.onlinebookstore.service.cache;
+
+public record CacheInvalidationEvent(
+        CacheRegion region,
+        Long entityId,
+        boolean local
+) {
+}
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.service.cache;
+
+public interface CacheInvalidationService {
+    void recordChange(CacheRegion region, Long entityId);
+
+    void ensureFresh();
+
+    void pollChanges();
+
+    int purgeExpiredChanges();
+}
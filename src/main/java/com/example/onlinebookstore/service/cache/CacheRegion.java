@@ -0,0 +1,18 @@
+package com.example.onlinebookstore.service.cache;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.model.Category;
+import com.example.onlinebookstore.model.ShoppingCart;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum CacheRegion {
+    BOOKS(Book.class, true),
+    CATEGORIES(Category.class, true),
+    CARTS(ShoppingCart.class, false);
+
+    private final Class<?> entityClass;
+    private final boolean catalog;
+}
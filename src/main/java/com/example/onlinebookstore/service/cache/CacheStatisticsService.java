@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.service.cache;
+
+import com.example.onlinebookstore.dto.cache.CacheRegionStatisticsDto;
+import com.example.onlinebookstore.dto.cache.SingleFlightStatisticsDto;
+import java.util.List;
+
+public interface CacheStatisticsService {
+    List<CacheRegionStatisticsDto> getRegionStatistics();
+
+    SingleFlightStatisticsDto getSingleFlightStatistics();
+}
@@ -0,0 +1,83 @@
+package com.example.onlinebookstore.service.cache;
+
+import com.example.onlinebookstore.exception.DataProcessingException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class SingleFlight {
+    private final Map<Object, CompletableFuture<Object>> inFlightLoads =
+            new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final TransactionTemplate readOnlyTransaction;
+    private final long maxWaitMillis;
+
+    public SingleFlight(PlatformTransactionManager transactionManager,
+                        @Value("${catalog.single-flight.max-wait}") long maxWaitMillis) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> inFlight = inFlightLoads.putIfAbsent(key, future);
+        if (inFlight == null) {
+            return load(key, future, loader);
+        }
+        deduplicated.increment();
+        try {
+            return (T) inFlight.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            return readOnlyTransaction.execute(status -> loader.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Interrupted while waiting for load of " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new DataProcessingException("Can`t load " + key, e.getCause());
+        }
+    }
+
+    public long getLoads() {
+        return loads.sum();
+    }
+
+    public long getDeduplicated() {
+        return deduplicated.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    private <T> T load(Object key, CompletableFuture<Object> future, Supplier<T> loader) {
+        loads.increment();
+        try {
+            T result = readOnlyTransaction.execute(status -> loader.get());
+            future.complete(result);
+            return result;
+        } catch (Throwable e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoads.remove(key, future);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.onlinebookstore.service.cache.impl;
+
+import com.example.onlinebookstore.exception.StaleCacheException;
+import com.example.onlinebookstore.repository.cache.CacheInvalidationLogEntry;
+import com.example.onlinebookstore.repository.cache.CacheInvalidationLogRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+public class CacheInvalidationServiceImpl implements CacheInvalidationService {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheInvalidationLogRepository logRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate pollTemplate;
+    private final long maxStalenessNanos;
+    private final long gapTimeoutNanos;
+    private final int retentionMinutes;
+    private final int batchSize;
+    private final NavigableMap<Long, Gap> pendingGaps = new TreeMap<>();
+    private final Lock pollLock = new ReentrantLock();
+    private long lastAppliedId = -1;
+    private volatile long lastPollNanos = System.nanoTime();
+
+    public CacheInvalidationServiceImpl(
+            CacheInvalidationLogRepository logRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${cache.invalidation.max-staleness}") long maxStalenessMillis,
+            @Value("${cache.invalidation.gap-timeout}") long gapTimeoutMillis,
+            @Value("${cache.invalidation.retention-minutes}") int retentionMinutes,
+            @Value("${cache.invalidation.batch-size}") int batchSize) {
+        this.logRepository = logRepository;
+        this.eventPublisher = eventPublisher;
+        this.pollTemplate = new TransactionTemplate(transactionManager);
+        this.pollTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.maxStalenessNanos = TimeUnit.MILLISECONDS.toNanos(maxStalenessMillis);
+        this.gapTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(gapTimeoutMillis);
+        this.retentionMinutes = retentionMinutes;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void recordChange(CacheRegion region, Long entityId) {
+        logRepository.append(region, entityId, nodeId);
+        eventPublisher.publishEvent(new CacheInvalidationEvent(region, entityId, true));
+    }
+
+    @Override
+    public void ensureFresh() {
+        long freshSince = System.nanoTime() - maxStalenessNanos;
+        if (lastPollNanos - freshSince >= 0) {
+            return;
+        }
+        try {
+            if (!pollLock.tryLock(maxStalenessNanos, TimeUnit.NANOSECONDS)) {
+                throw new StaleCacheException("Cache invalidations are behind, try again later");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StaleCacheException("Interrupted while refreshing cache invalidations");
+        }
+        try {
+            // a poll that finished while we waited may already cover this request
+            if (lastPollNanos - freshSince < 0) {
+                poll();
+            }
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cache.invalidation.poll-interval}")
+    public void pollChanges() {
+        pollLock.lock();
+        try {
+            poll();
+        } finally {
+            pollLock.unlock();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${cache.invalidation.purge-interval}")
+    public int purgeExpiredChanges() {
+        return logRepository.deleteCreatedBefore(
+                LocalDateTime.now().minusMinutes(retentionMinutes));
+    }
+
+    private void poll() {
+        long startedAt = System.nanoTime();
+        pollTemplate.executeWithoutResult(status -> applyNewEntries(startedAt));
+        lastPollNanos = startedAt;
+    }
+
+    private void applyNewEntries(long now) {
+        if (lastAppliedId < 0) {
+            lastAppliedId = logRepository.findMaxId();
+            return;
+        }
+        pendingGaps.values().removeIf(gap -> now - gap.seenAt() > gapTimeoutNanos);
+        long afterId = pendingGaps.isEmpty()
+                ? lastAppliedId
+                : Math.min(pendingGaps.firstKey() - 1, lastAppliedId);
+        List<CacheInvalidationLogEntry> entries;
+        do {
+            entries = logRepository.findAfter(afterId, batchSize);
+            for (CacheInvalidationLogEntry entry : entries) {
+                afterId = entry.id();
+                if (isNewEntry(entry.id(), now) && !nodeId.equals(entry.nodeId())) {
+                    eventPublisher.publishEvent(
+                            new CacheInvalidationEvent(entry.region(), entry.entityId(), false));
+                }
+            }
+        } while (entries.size() == batchSize);
+    }
+
+    private boolean isNewEntry(long id, long now) {
+        if (id <= lastAppliedId) {
+            return fillGap(id);
+        }
+        if (id > lastAppliedId + 1) {
+            pendingGaps.put(lastAppliedId + 1, new Gap(id - 1, now));
+        }
+        lastAppliedId = id;
+        return true;
+    }
+
+    private boolean fillGap(long id) {
+        Map.Entry<Long, Gap> entry = pendingGaps.floorEntry(id);
+        if (entry == null || entry.getValue().lastId() < id) {
+            return false;
+        }
+        Gap gap = pendingGaps.remove(entry.getKey());
+        if (entry.getKey() < id) {
+            pendingGaps.put(entry.getKey(), new Gap(id - 1, gap.seenAt()));
+        }
+        if (gap.lastId() > id) {
+            pendingGaps.put(id + 1, gap);
+        }
+        return true;
+    }
+
+    private record Gap(long lastId, long seenAt) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.onlinebookstore.service.cache.impl;
+
+import com.example.onlinebookstore.dto.cache.CacheRegionStatisticsDto;
+import com.example.onlinebookstore.dto.cache.SingleFlightStatisticsDto;
+import com.example.onlinebookstore.service.cache.CacheStatisticsService;
+import com.example.onlinebookstore.service.cache.SingleFlight;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+public class CacheStatisticsServiceImpl implements CacheStatisticsService {
+    private final EntityManagerFactory entityManagerFactory;
+    private final SingleFlight singleFlight;
+
+    @Override
+    public List<CacheRegionStatisticsDto> getRegionStatistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(region -> toDto(region, statistics.getCacheRegionStatistics(region)))
+                .toList();
+    }
+
+    @Override
+    public SingleFlightStatisticsDto getSingleFlightStatistics() {
+        return new SingleFlightStatisticsDto(singleFlight.getLoads(),
+                singleFlight.getDeduplicated(), singleFlight.getTimeouts());
+    }
+
+    private CacheRegionStatisticsDto toDto(String region, CacheRegionStatistics statistics) {
+        long hits = statistics.getHitCount();
+        long misses = statistics.getMissCount();
+        double hitRate = hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+        return new CacheRegionStatisticsDto(region, hits, misses, statistics.getPutCount(),
+                hitRate);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.onlinebookstore.service.cache.impl;
+
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheInvalidationListener {
+    private static final String BOOK_CATEGORIES_ROLE = Book.class.getName() + ".categories";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @EventListener
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (!event.local()) {
+            evict(event.region(), event.entityId());
+        }
+    }
+
+    public void evict(CacheRegion region, Long entityId) {
+        if (!region.isCatalog()) {
+            return;
+        }
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Class<?> entityClass = region.getEntityClass();
+        if (entityId == null) {
+            cache.evictEntityData(entityClass);
+        } else {
+            cache.evictEntityData(entityClass, entityId);
+        }
+        if (region == CacheRegion.BOOKS && entityId != null) {
+            cache.evictCollectionData(BOOK_CATEGORIES_ROLE, entityId);
+        } else {
+            cache.evictCollectionData(BOOK_CATEGORIES_ROLE);
+        }
+        cache.evictQueryRegions();
+    }
+}
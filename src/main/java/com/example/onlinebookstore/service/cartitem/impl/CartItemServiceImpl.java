@@ -7,15 +7,21 @@ import com.example.onlinebookstore.mapper.ShoppingCartMapper;
 import com.example.onlinebookstore.model.CartItem;
 import com.example.onlinebookstore.model.User;
 import com.example.onlinebookstore.repository.cartitem.CartItemRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
 import com.example.onlinebookstore.service.cartitem.CartItemService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 @Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "database",
+        matchIfMissing = true)
 @RequiredArgsConstructor
 public class CartItemServiceImpl implements CartItemService {
     private final CartItemRepository cartItemRepository;
     private final ShoppingCartMapper shoppingCartMapper;
+    private final CacheInvalidationService cacheInvalidationService;
 
     @Override
     public ShoppingCartDto updateBookQuantityById(Long id, int quantity) {
@@ -23,6 +29,8 @@ public class CartItemServiceImpl implements CartItemService {
                 .orElseThrow(() -> new EntityNotFoundException("Can`t find cart item by id"));
         cartItem.setQuantity(quantity);
         cartItemRepository.save(cartItem);
+        cacheInvalidationService.recordChange(CacheRegion.CARTS,
+                cartItem.getShoppingCart().getUser().getId());
         return shoppingCartMapper.toDto(cartItem.getShoppingCart());
     }
 
@@ -33,6 +41,7 @@ public class CartItemServiceImpl implements CartItemService {
         );
         if (cartItem.getShoppingCart().getUser().getId().equals(user.getId())) {
             cartItemRepository.delete(cartItem);
+            cacheInvalidationService.recordChange(CacheRegion.CARTS, user.getId());
             return;
         }
         throw new DataProcessingException("Can't find cart item with id " + id + " in your cart");
@@ -0,0 +1,43 @@
+package com.example.onlinebookstore.service.cartitem.impl;
+
+import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import com.example.onlinebookstore.exception.DataProcessingException;
+import com.example.onlinebookstore.exception.EntityNotFoundException;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import com.example.onlinebookstore.service.cartitem.CartItemService;
+import com.example.onlinebookstore.service.shoppingcart.CartChangedEvent;
+import com.example.onlinebookstore.service.shoppingcart.store.InMemoryCartStore;
+import com.example.onlinebookstore.service.shoppingcart.store.StoredCartViews;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+@Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryCartItemServiceImpl implements CartItemService {
+    private final InMemoryCartStore cartStore;
+    private final StoredCartViews cartViews;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ShoppingCartDto updateBookQuantityById(Long id, int quantity) {
+        CartSnapshot snapshot = cartStore.updateQuantity(id, quantity);
+        eventPublisher.publishEvent(new CartChangedEvent(snapshot.userId()));
+        return cartViews.find(snapshot.userId()).cart();
+    }
+
+    @Override
+    public void deleteItemById(User user, Long id) {
+        if (cartStore.removeItem(user.getId(), id)) {
+            eventPublisher.publishEvent(new CartChangedEvent(user.getId()));
+            return;
+        }
+        if (cartStore.findOwner(id).isEmpty()) {
+            throw new EntityNotFoundException("Can`t find item by id " + id);
+        }
+        throw new DataProcessingException("Can't find cart item with id " + id + " in your cart");
+    }
+}
@@ -5,38 +5,50 @@ import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.CategoryMapper;
 import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
 import com.example.onlinebookstore.service.category.CategoryService;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final CacheInvalidationService cacheInvalidationService;
 
+    @Transactional(readOnly = true)
     @Override
     public List<CategoryDto> findAll(Pageable pageable) {
+        cacheInvalidationService.ensureFresh();
         return categoryRepository.findAll(pageable).stream()
                 .map(categoryMapper::toDto)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public CategoryDto findById(Long id) {
+        cacheInvalidationService.ensureFresh();
         Category category = categoryRepository.findById(id).orElseThrow(() ->
                 new EntityNotFoundException("Can't find category with id " + id));
         return categoryMapper.toDto(category);
     }
 
+    @Transactional
     @Override
     public CategoryDto save(CategoryDto categoryRequestDto) {
         Category category = categoryMapper.toEntity(categoryRequestDto);
-        return categoryMapper.toDto(categoryRepository.save(category));
+        Category savedCategory = categoryRepository.save(category);
+        cacheInvalidationService.recordChange(CacheRegion.CATEGORIES, savedCategory.getId());
+        return categoryMapper.toDto(savedCategory);
     }
 
+    @Transactional
     @Override
     public CategoryDto update(Long id, CategoryDto categoryResponseDto) {
         Category category = categoryRepository.findById(id).orElseThrow(() ->
@@ -44,14 +56,17 @@ public class CategoryServiceImpl implements CategoryService {
         Category mapperEntity = categoryMapper.toEntity(categoryResponseDto);
         mapperEntity.setId(id);
         categoryRepository.save(mapperEntity);
+        cacheInvalidationService.recordChange(CacheRegion.CATEGORIES, id);
         return categoryMapper.toDto(mapperEntity);
     }
 
+    @Transactional
     @Override
     public void deleteById(Long id) {
         if (categoryRepository.findById(id).isEmpty()) {
             throw new EntityNotFoundException("Can`t find category by id " + id);
         }
         categoryRepository.deleteById(id);
+        cacheInvalidationService.recordChange(CacheRegion.CATEGORIES, id);
     }
 }
@@ -0,0 +1,18 @@
+package com.example.onlinebookstore.service.idempotency;
+
+import com.example.onlinebookstore.repository.idempotency.IdempotentResponse;
+import java.util.Optional;
+
+public interface IdempotencyService {
+    boolean supports(String method, String requestPath);
+
+    Optional<IdempotentResponse> begin(Long userId, String key, String requestPath,
+                                       String requestHash);
+
+    void complete(Long userId, String key, String requestPath, String requestHash,
+                  IdempotentResponse response);
+
+    void release(Long userId, String key);
+
+    int purgeExpiredKeys();
+}
@@ -0,0 +1,227 @@
+package com.example.onlinebookstore.service.idempotency.impl;
+
+import com.example.onlinebookstore.exception.DataProcessingException;
+import com.example.onlinebookstore.exception.IdempotencyException;
+import com.example.onlinebookstore.repository.idempotency.IdempotencyKeyRepository;
+import com.example.onlinebookstore.repository.idempotency.IdempotencyRecord;
+import com.example.onlinebookstore.repository.idempotency.IdempotentResponse;
+import com.example.onlinebookstore.service.idempotency.IdempotencyService;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+public class IdempotencyServiceImpl implements IdempotencyService {
+    private final IdempotencyKeyRepository keyRepository;
+    private final Set<String> paths;
+    private final Duration retention;
+    private final long maxWaitNanos;
+    private final long pollIntervalMillis;
+    private final Duration pendingTimeout;
+    private final Cache<RequestKey, IdempotencyRecord> responses;
+    private final Map<RequestKey, CompletableFuture<IdempotencyRecord>> inFlightRequests =
+            new ConcurrentHashMap<>();
+    private final ThreadLocal<RequestKey> currentRequest = new ThreadLocal<>();
+
+    public IdempotencyServiceImpl(IdempotencyKeyRepository keyRepository,
+                                  @Value("${idempotency.paths}") List<String> paths,
+                                  @Value("${idempotency.cache-size}") long cacheSize,
+                                  @Value("${idempotency.retention}") Duration retention,
+                                  @Value("${idempotency.max-wait}") Duration maxWait,
+                                  @Value("${idempotency.poll-interval}") long pollIntervalMillis,
+                                  @Value("${idempotency.pending-timeout}")
+                                  Duration pendingTimeout) {
+        this.keyRepository = keyRepository;
+        this.paths = Set.copyOf(paths);
+        this.retention = retention;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.pollIntervalMillis = pollIntervalMillis;
+        this.pendingTimeout = pendingTimeout;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .build();
+    }
+
+    @Override
+    public boolean supports(String method, String requestPath) {
+        return HttpMethod.POST.matches(method) && paths.contains(requestPath);
+    }
+
+    @Override
+    public Optional<IdempotentResponse> begin(Long userId, String key, String requestPath,
+                                              String requestHash) {
+        RequestKey requestKey = new RequestKey(userId, key);
+        long deadline = System.nanoTime() + maxWaitNanos;
+        while (true) {
+            IdempotencyRecord cached = responses.getIfPresent(requestKey);
+            if (cached != null) {
+                return Optional.of(replay(cached, key, requestPath, requestHash));
+            }
+            CompletableFuture<IdempotencyRecord> execution = new CompletableFuture<>();
+            CompletableFuture<IdempotencyRecord> inFlight =
+                    inFlightRequests.putIfAbsent(requestKey, execution);
+            if (inFlight == null) {
+                if (acquire(userId, key, requestPath, requestHash)) {
+                    currentRequest.set(requestKey);
+                    return Optional.empty();
+                }
+                inFlightRequests.remove(requestKey, execution);
+                execution.complete(null);
+                Optional<IdempotencyRecord> stored = keyRepository.find(userId, key);
+                if (stored.isPresent() && stored.get().isCompleted()) {
+                    responses.put(requestKey, stored.get());
+                    return Optional.of(replay(stored.get(), key, requestPath, requestHash));
+                }
+                if (stored.isPresent()) {
+                    checkAbandoned(stored.get(), key, requestPath, requestHash);
+                }
+                sleepUntilNextPoll(deadline, key);
+            } else {
+                IdempotencyRecord completed = await(inFlight, deadline, key);
+                if (completed != null) {
+                    return Optional.of(replay(completed, key, requestPath, requestHash));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void complete(Long userId, String key, String requestPath, String requestHash,
+                         IdempotentResponse response) {
+        RequestKey requestKey = new RequestKey(userId, key);
+        IdempotencyRecord completed = null;
+        try {
+            if (response.status() >= 500) {
+                keyRepository.deleteUncommitted(userId, key);
+            } else {
+                keyRepository.complete(userId, key, response);
+                LocalDateTime now = LocalDateTime.now();
+                completed = new IdempotencyRecord(requestPath, requestHash, response, now, now);
+                responses.put(requestKey, completed);
+            }
+        } finally {
+            finish(requestKey, completed);
+        }
+    }
+
+    @Override
+    public void release(Long userId, String key) {
+        RequestKey requestKey = new RequestKey(userId, key);
+        try {
+            keyRepository.deleteUncommitted(userId, key);
+        } finally {
+            finish(requestKey, null);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        RequestKey requestKey = currentRequest.get();
+        if (requestKey != null) {
+            keyRepository.markCommitted(requestKey.userId(), requestKey.key());
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval}")
+    public int purgeExpiredKeys() {
+        return keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+
+    private boolean acquire(Long userId, String key, String requestPath, String requestHash) {
+        return keyRepository.insertPending(userId, key, requestPath, requestHash)
+                || (keyRepository.deletePendingCreatedBefore(userId, key,
+                        LocalDateTime.now().minus(pendingTimeout))
+                && keyRepository.insertPending(userId, key, requestPath, requestHash));
+    }
+
+    private void checkAbandoned(IdempotencyRecord pending, String key, String requestPath,
+                                String requestHash) {
+        if (!pending.matches(requestPath, requestHash)) {
+            throw keyReused(key);
+        }
+        if (pending.isCommitted()
+                && pending.createdAt().isBefore(LocalDateTime.now().minus(pendingTimeout))) {
+            throw new IdempotencyException(HttpStatus.CONFLICT, "Request with idempotency key "
+                    + key + " was already processed, but its response was not stored");
+        }
+    }
+
+    private void finish(RequestKey requestKey, IdempotencyRecord completed) {
+        currentRequest.remove();
+        CompletableFuture<IdempotencyRecord> execution = inFlightRequests.remove(requestKey);
+        if (execution != null) {
+            execution.complete(completed);
+        }
+    }
+
+    private IdempotencyRecord await(CompletableFuture<IdempotencyRecord> inFlight,
+                                    long deadline, String key) {
+        try {
+            return inFlight.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw stillInProgress(key);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Interrupted while waiting for request with"
+                    + " idempotency key " + key, e);
+        } catch (ExecutionException e) {
+            throw new DataProcessingException("Can`t wait for request with idempotency key "
+                    + key, e.getCause());
+        }
+    }
+
+    private void sleepUntilNextPoll(long deadline, String key) {
+        long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+        if (remainingMillis <= 0) {
+            throw stillInProgress(key);
+        }
+        try {
+            Thread.sleep(Math.min(pollIntervalMillis, remainingMillis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DataProcessingException("Interrupted while waiting for request with"
+                    + " idempotency key " + key, e);
+        }
+    }
+
+    private static IdempotentResponse replay(IdempotencyRecord record, String key,
+                                             String requestPath, String requestHash) {
+        if (!record.matches(requestPath, requestHash)) {
+            throw keyReused(key);
+        }
+        return record.response();
+    }
+
+    private static IdempotencyException stillInProgress(String key) {
+        return new IdempotencyException(HttpStatus.CONFLICT, "Request with idempotency key "
+                + key + " is still in progress");
+    }
+
+    private static IdempotencyException keyReused(String key) {
+        return new IdempotencyException(HttpStatus.UNPROCESSABLE_ENTITY, "Idempotency key "
+                + key + " was already used for another request");
+    }
+
+    private record RequestKey(Long userId, String key) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.onlinebookstore.service.order;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public record OrderPlacedEvent(Long orderId, LocalDateTime orderDate, BigDecimal total,
+                               List<OrderedBook> books) {
+    public Map<Long, Integer> quantitiesByBookId() {
+        return books.stream()
+                .collect(Collectors.toMap(OrderedBook::bookId, OrderedBook::quantity,
+                        Integer::sum));
+    }
+
+    public record OrderedBook(Long bookId, int quantity, BigDecimal price,
+                              Set<Long> categoryIds) {
+    }
+}
@@ -1,7 +1,10 @@
 package com.example.onlinebookstore.service.order;
 
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateDto;
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateResponseDto;
 import com.example.onlinebookstore.dto.order.OrderRequestDto;
 import com.example.onlinebookstore.dto.order.OrderResponseDto;
+import com.example.onlinebookstore.dto.order.OrderSummaryPageDto;
 import com.example.onlinebookstore.dto.order.OrderUpdateStatusDto;
 import com.example.onlinebookstore.model.User;
 import java.util.List;
@@ -12,6 +15,10 @@ public interface OrderService {
 
     List<OrderResponseDto> findAll(User user, Pageable pageable);
 
+    OrderSummaryPageDto findSummaries(User user, Pageable pageable);
+
     OrderResponseDto updateOrderStatusById(Long orderId,
                                            OrderUpdateStatusDto orderUpdateStatusDto);
+
+    OrderBulkStatusUpdateResponseDto updateOrderStatuses(OrderBulkStatusUpdateDto requestDto);
 }
@@ -0,0 +1,11 @@
+package com.example.onlinebookstore.service.order;
+
+import com.example.onlinebookstore.model.Order;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record OrderStatusChangedEvent(List<StatusChange> changes) {
+    public record StatusChange(Long orderId, LocalDateTime orderDate,
+                               Order.Status previousStatus, Order.Status status) {
+    }
+}
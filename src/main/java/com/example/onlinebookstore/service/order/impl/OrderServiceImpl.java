@@ -1,88 +1,216 @@
 package com.example.onlinebookstore.service.order.impl;
 
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateDto;
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateResponseDto;
 import com.example.onlinebookstore.dto.order.OrderRequestDto;
 import com.example.onlinebookstore.dto.order.OrderResponseDto;
+import com.example.onlinebookstore.dto.order.OrderStatusUpdateResultDto;
+import com.example.onlinebookstore.dto.order.OrderSummaryPageDto;
 import com.example.onlinebookstore.dto.order.OrderUpdateStatusDto;
 import com.example.onlinebookstore.exception.DataProcessingException;
 import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.OrderMapper;
-import com.example.onlinebookstore.model.CartItem;
 import com.example.onlinebookstore.model.Order;
-import com.example.onlinebookstore.model.OrderItem;
-import com.example.onlinebookstore.model.ShoppingCart;
 import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.order.CheckoutRepository;
 import com.example.onlinebookstore.repository.order.OrderRepository;
-import com.example.onlinebookstore.repository.orderitem.OrderItemRepository;
+import com.example.onlinebookstore.repository.order.OrderStatusView;
+import com.example.onlinebookstore.repository.order.PlacedOrder;
+import com.example.onlinebookstore.repository.order.UserOrderCountRepository;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
 import com.example.onlinebookstore.service.order.OrderService;
+import com.example.onlinebookstore.service.order.OrderStatusChangedEvent;
 import com.example.onlinebookstore.service.shoppingcart.ShoppingCartService;
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
 public class OrderServiceImpl implements OrderService {
+    private static final Sort SUMMARY_DEFAULT_SORT =
+            Sort.by(Sort.Direction.DESC, "orderDate", "id");
+
     private final OrderRepository orderRepository;
     private final ShoppingCartService shoppingCartService;
     private final OrderMapper orderMapper;
-    private final OrderItemRepository orderItemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UserOrderCountRepository userOrderCountRepository;
+    private final CheckoutRepository checkoutRepository;
+
+    @Value("${orders.bulk-update.chunk-size}")
+    private int bulkUpdateChunkSize;
 
     @Override
     public OrderResponseDto addOrder(User user, OrderRequestDto requestDto) {
-        ShoppingCart shoppingCartByUser = shoppingCartService.getShoppingCartByUser(user);
-
-        if (shoppingCartByUser.getCartItems().isEmpty()) {
-            throw new DataProcessingException("Can't create order. Shopping cart is empty.");
-        }
-
-        BigDecimal total = shoppingCartByUser.getCartItems().stream()
-                .map(cartItem -> cartItem.getBook().getPrice())
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        Order order = new Order();
-        order.setUser(user);
-        order.setStatus(Order.Status.PENDING);
-        order.setTotal(total);
-        order.setShippingAddress(requestDto.getShippingAddress());
-        order.setOrderDate(LocalDateTime.now());
-        Order savedOrder = orderRepository.save(order);
-        processOrderItems(shoppingCartByUser, savedOrder);
-        shoppingCartService.clearShoppingCart(shoppingCartByUser);
-        return orderMapper.toDto(savedOrder);
+        shoppingCartService.prepareCheckout(user);
+        LocalDateTime orderDate = LocalDateTime.now();
+        Long orderId = checkoutRepository.insertOrderFromCart(user.getId(),
+                requestDto.getShippingAddress(), orderDate)
+                .orElseThrow(() -> new DataProcessingException(
+                        "Can't create order. Shopping cart is empty."));
+        checkoutRepository.insertOrderItemsFromCart(orderId, user.getId());
+        userOrderCountRepository.increment(user.getId());
+        shoppingCartService.clearShoppingCart(user);
+        PlacedOrder placedOrder = checkoutRepository.findPlacedOrder(orderId);
+        eventPublisher.publishEvent(new OrderPlacedEvent(orderId, placedOrder.orderDate(),
+                placedOrder.total(), placedOrder.items().stream()
+                        .map(item -> new OrderPlacedEvent.OrderedBook(item.bookId(),
+                                item.quantity(), item.price(), item.categoryIds()))
+                        .toList()));
+        return orderMapper.toDto(placedOrder);
     }
 
+    @Transactional(readOnly = true)
     @Override
     public List<OrderResponseDto> findAll(User user, Pageable pageable) {
-        List<Order> ordersPage = orderRepository.findByUser(user, pageable);
-        return ordersPage.stream()
+        List<Long> orderIds = orderRepository.findIdsByUser(user, pageable);
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Order> ordersById = orderRepository.findAllWithOrderItemsByIdIn(orderIds)
+                .stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+        return orderIds.stream()
+                .map(ordersById::get)
                 .map(orderMapper::toDto)
                 .toList();
     }
 
+    @Transactional(readOnly = true)
+    @Override
+    public OrderSummaryPageDto findSummaries(User user, Pageable pageable) {
+        Pageable sortedPageable = pageable.getSort().isSorted()
+                ? pageable
+                : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                        SUMMARY_DEFAULT_SORT);
+        return new OrderSummaryPageDto(orderRepository.findSummariesByUser(user, sortedPageable),
+                userOrderCountRepository.findByUserId(user.getId()));
+    }
+
     @Override
     public OrderResponseDto updateOrderStatusById(Long orderId,
                                                   OrderUpdateStatusDto orderUpdateStatusDto) {
         Order orderSaved = orderRepository.findById(orderId).orElseThrow(
                 () -> new EntityNotFoundException("Can`t find order by id ")
         );
+        Order.Status previousStatus = orderSaved.getStatus();
         orderSaved.setStatus(orderUpdateStatusDto.getStatus());
+        if (previousStatus != orderSaved.getStatus()) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(List.of(
+                    new OrderStatusChangedEvent.StatusChange(orderId, orderSaved.getOrderDate(),
+                            previousStatus, orderSaved.getStatus()))));
+        }
         return orderMapper.toDto(orderRepository.save(orderSaved));
     }
 
-    private void processOrderItems(ShoppingCart shoppingCart, Order order) {
-        for (CartItem cartItem : shoppingCart.getCartItems()) {
-            OrderItem orderItem = new OrderItem();
-            orderItem.setBook(cartItem.getBook());
-            orderItem.setQuantity(cartItem.getQuantity());
-            orderItem.setOrder(order);
-            orderItem.setPrice(cartItem.getBook().getPrice());
-            OrderItem savedOrderItem = orderItemRepository.save(orderItem);
-            order.getOrderItems().add(savedOrderItem);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderBulkStatusUpdateResponseDto updateOrderStatuses(
+            OrderBulkStatusUpdateDto requestDto) {
+        Order.Status status = requestDto.getStatus();
+        List<OrderStatusUpdateResultDto> results = new ArrayList<>();
+        Map<OrderStatusUpdateResultDto.Outcome, Integer> outcomes =
+                new EnumMap<>(OrderStatusUpdateResultDto.Outcome.class);
+        if (requestDto.hasOrderIds()) {
+            List<Long> orderIds = requestDto.getOrderIds().stream()
+                    .distinct()
+                    .toList();
+            for (int from = 0; from < orderIds.size(); from += bulkUpdateChunkSize) {
+                List<Long> chunk = orderIds.subList(from,
+                        Math.min(from + bulkUpdateChunkSize, orderIds.size()));
+                List<OrderStatusUpdateResultDto> chunkResults = transactionTemplate.execute(
+                        transaction -> updateStatusChunk(chunk, status));
+                countOutcomes(outcomes, chunkResults);
+                results.addAll(chunkResults);
+            }
+        } else {
+            Long afterId = 0L;
+            List<Long> chunk;
+            do {
+                chunk = orderRepository.findIdsByStatusAndOrderDate(afterId,
+                        requestDto.getCurrentStatus(),
+                        requestDto.getOrderDateFrom(),
+                        requestDto.getOrderDateTo(),
+                        PageRequest.of(0, bulkUpdateChunkSize));
+                if (!chunk.isEmpty()) {
+                    List<Long> ids = chunk;
+                    // the filter can match any number of orders, so only the counts are kept
+                    countOutcomes(outcomes, transactionTemplate.execute(
+                            transaction -> updateStatusChunk(ids, status)));
+                    afterId = chunk.get(chunk.size() - 1);
+                }
+            } while (chunk.size() == bulkUpdateChunkSize);
+        }
+        return new OrderBulkStatusUpdateResponseDto(
+                outcomes.getOrDefault(OrderStatusUpdateResultDto.Outcome.UPDATED, 0),
+                outcomes, results);
+    }
+
+    private void countOutcomes(Map<OrderStatusUpdateResultDto.Outcome, Integer> outcomes,
+                               List<OrderStatusUpdateResultDto> results) {
+        results.forEach(result -> outcomes.merge(result.outcome(), 1, Integer::sum));
+    }
+
+    private List<OrderStatusUpdateResultDto> updateStatusChunk(List<Long> orderIds,
+                                                               Order.Status status) {
+        Map<Long, OrderStatusView> currentStatuses = orderRepository
+                .findStatusesForUpdateByIdIn(orderIds).stream()
+                .collect(Collectors.toMap(OrderStatusView::getId, Function.identity()));
+        Set<Order.Status> allowedStatuses = status.getAllowedPreviousStatuses();
+        if (!allowedStatuses.isEmpty()) {
+            orderRepository.updateStatusByIdIn(orderIds, status, allowedStatuses);
+        }
+        List<OrderStatusUpdateResultDto> results = new ArrayList<>(orderIds.size());
+        List<OrderStatusChangedEvent.StatusChange> changes = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            OrderStatusView current = currentStatuses.get(orderId);
+            Order.Status currentStatus = current == null
+                    ? null
+                    : Order.Status.valueOf(current.getStatus());
+            OrderStatusUpdateResultDto.Outcome outcome = getOutcome(currentStatus, status,
+                    allowedStatuses);
+            if (outcome == OrderStatusUpdateResultDto.Outcome.UPDATED) {
+                changes.add(new OrderStatusChangedEvent.StatusChange(orderId,
+                        current.getOrderDate(), currentStatus, status));
+            }
+            results.add(new OrderStatusUpdateResultDto(orderId, outcome));
+        }
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new OrderStatusChangedEvent(changes));
+        }
+        return results;
+    }
+
+    private OrderStatusUpdateResultDto.Outcome getOutcome(Order.Status currentStatus,
+                                                          Order.Status status,
+                                                          Set<Order.Status> allowedStatuses) {
+        if (currentStatus == null) {
+            return OrderStatusUpdateResultDto.Outcome.NOT_FOUND;
+        }
+        if (currentStatus == status) {
+            return OrderStatusUpdateResultDto.Outcome.UNCHANGED;
+        }
+        if (allowedStatuses.contains(currentStatus)) {
+            return OrderStatusUpdateResultDto.Outcome.UPDATED;
         }
+        return OrderStatusUpdateResultDto.Outcome.INVALID_TRANSITION;
     }
 }
@@ -12,6 +12,7 @@ import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +20,7 @@ public class OrderItemServiceImpl implements OrderItemService {
     private final OrderItemMapper orderItemMapper;
     private final OrderRepository orderRepository;
 
+    @Transactional(readOnly = true)
     @Override
     public List<OrderItemResponseDto> findByIdAndUser(Long orderId, User user) {
         Order order = orderRepository.findByIdAndUser(orderId, user).orElseThrow(
@@ -30,6 +32,7 @@ public class OrderItemServiceImpl implements OrderItemService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     @Override
     public OrderItemResponseDto findByUserAndIdAndOrderItems_Id(User user,
                                                                 Long orderId,
@@ -3,6 +3,9 @@ package com.example.onlinebookstore.service.role;
 import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.model.Role;
 import com.example.onlinebookstore.repository.role.RoleRepository;
+import jakarta.annotation.PostConstruct;
+import java.util.EnumMap;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -10,9 +13,19 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class RoleServiceImpl implements RoleService {
     private final RoleRepository roleRepository;
+    private final Map<Role.RoleName, Role> roles = new EnumMap<>(Role.RoleName.class);
+
+    @PostConstruct
+    public void loadRoles() {
+        roleRepository.findAll().forEach(role -> roles.put(role.getName(), role));
+    }
 
     @Override
     public Role findByName(Role.RoleName role) {
+        Role cachedRole = roles.get(role);
+        if (cachedRole != null) {
+            return cachedRole;
+        }
         return roleRepository.findByName(role).orElseThrow(
                 () -> new EntityNotFoundException("Can`t find role" + role)
         );
@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.service.shoppingcart;
+
+public record CartChangedEvent(Long userId) {
+}
@@ -0,0 +1,4 @@
+package com.example.onlinebookstore.service.shoppingcart;
+
+public record CartCheckoutEvent(Long userId) {
+}
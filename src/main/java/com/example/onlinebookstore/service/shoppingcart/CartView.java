@@ -0,0 +1,7 @@
+package com.example.onlinebookstore.service.shoppingcart;
+
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
+import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+
+public record CartView(ShoppingCartDto cart, CartBadgeDto badge) {
+}
@@ -0,0 +1,47 @@
+package com.example.onlinebookstore.service.shoppingcart;
+
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+public class CartViewCache {
+    private final Cache<Long, CartView> views;
+
+    public CartViewCache(@Value("${cart.view-cache.max-size}") long maxSize,
+                         @Value("${cart.view-cache.expire-after-write}")
+                         Duration expireAfterWrite) {
+        this.views = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+    }
+
+    public CartView get(Long userId, Function<Long, CartView> loader) {
+        return views.get(userId, loader);
+    }
+
+    public void invalidate(Long userId) {
+        views.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCartChanged(CartChangedEvent event) {
+        invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheInvalidation(CacheInvalidationEvent event) {
+        if (event.region() == CacheRegion.BOOKS) {
+            views.invalidateAll();
+        } else if (event.region() == CacheRegion.CARTS && event.entityId() != null) {
+            invalidate(event.entityId());
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.example.onlinebookstore.service.shoppingcart;
 
 import com.example.onlinebookstore.dto.cartitem.CartItemDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import com.example.onlinebookstore.model.ShoppingCart;
 import com.example.onlinebookstore.model.User;
@@ -10,7 +11,11 @@ public interface ShoppingCartService {
 
     ShoppingCartDto findByUser(User user);
 
+    CartBadgeDto getBadge(User user);
+
     ShoppingCart getShoppingCartByUser(User user);
 
-    void clearShoppingCart(ShoppingCart shoppingCart);
+    void prepareCheckout(User user);
+
+    void clearShoppingCart(User user);
 }
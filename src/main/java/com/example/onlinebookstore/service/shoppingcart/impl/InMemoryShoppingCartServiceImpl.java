@@ -0,0 +1,85 @@
+package com.example.onlinebookstore.service.shoppingcart.impl;
+
+import com.example.onlinebookstore.dto.cartitem.CartItemDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
+import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import com.example.onlinebookstore.exception.EntityNotFoundException;
+import com.example.onlinebookstore.model.ShoppingCart;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.cartitem.CartItemRepository;
+import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.service.shoppingcart.CartChangedEvent;
+import com.example.onlinebookstore.service.shoppingcart.CartCheckoutEvent;
+import com.example.onlinebookstore.service.shoppingcart.CartViewCache;
+import com.example.onlinebookstore.service.shoppingcart.ShoppingCartService;
+import com.example.onlinebookstore.service.shoppingcart.store.InMemoryCartStore;
+import com.example.onlinebookstore.service.shoppingcart.store.StoredCartViews;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryShoppingCartServiceImpl implements ShoppingCartService {
+    private final InMemoryCartStore cartStore;
+    private final StoredCartViews cartViews;
+    private final CartViewCache cartViewCache;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final CartItemRepository cartItemRepository;
+    private final BookRepository bookRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public ShoppingCartDto addBookToShopCart(User user, CartItemDto cartItemDto) {
+        if (bookRepository.findById(cartItemDto.getBookId()).isEmpty()) {
+            throw new EntityNotFoundException("Can`t find book id");
+        }
+        cartStore.addBook(user.getId(), cartItemDto.getBookId(), cartItemDto.getQuantity());
+        eventPublisher.publishEvent(new CartChangedEvent(user.getId()));
+        return cartViews.find(user.getId()).cart();
+    }
+
+    @Override
+    public ShoppingCartDto findByUser(User user) {
+        return cartViews.find(user.getId()).cart();
+    }
+
+    @Override
+    public CartBadgeDto getBadge(User user) {
+        return cartViews.find(user.getId()).badge();
+    }
+
+    @Override
+    public ShoppingCart getShoppingCartByUser(User user) {
+        cartStore.flushCart(user.getId());
+        return shoppingCartRepository.findByUserId(user.getId())
+                .orElseThrow(() -> new EntityNotFoundException("Can`t find by user id"));
+    }
+
+    @Override
+    public void prepareCheckout(User user) {
+        cartStore.flushForCheckout(user.getId());
+        eventPublisher.publishEvent(new CartCheckoutEvent(user.getId()));
+    }
+
+    @Override
+    public void clearShoppingCart(User user) {
+        cartItemRepository.deleteAllByUserId(user.getId());
+    }
+
+    @TransactionalEventListener
+    public void onCheckoutCommitted(CartCheckoutEvent event) {
+        cartStore.completeCheckout(event.userId());
+        cartViewCache.invalidate(event.userId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_ROLLBACK)
+    public void onCheckoutRolledBack(CartCheckoutEvent event) {
+        cartStore.abortCheckout(event.userId());
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.onlinebookstore.service.shoppingcart.impl;
 
 import com.example.onlinebookstore.dto.cartitem.CartItemDto;
+import com.example.onlinebookstore.dto.cartitem.CartItemResponseDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.CartItemMapper;
@@ -11,14 +13,25 @@ import com.example.onlinebookstore.model.ShoppingCart;
 import com.example.onlinebookstore.model.User;
 import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.cartitem.CartItemRepository;
+import com.example.onlinebookstore.repository.shoppingcart.CartLine;
 import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.example.onlinebookstore.service.shoppingcart.CartView;
+import com.example.onlinebookstore.service.shoppingcart.CartViewCache;
 import com.example.onlinebookstore.service.shoppingcart.ShoppingCartService;
+import java.math.BigDecimal;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 @Service
+@ConditionalOnProperty(name = "cart.storage", havingValue = "database",
+        matchIfMissing = true)
 @RequiredArgsConstructor
 public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final ShoppingCartRepository shoppingCartRepository;
@@ -26,6 +39,8 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
     private final CartItemMapper cartItemMapper;
     private final CartItemRepository cartItemRepository;
     private final BookRepository bookRepository;
+    private final CartViewCache cartViewCache;
+    private final CacheInvalidationService cacheInvalidationService;
 
     public ShoppingCartDto addBookToShopCart(User user, CartItemDto cartItemDto) {
         ShoppingCart shoppingCart = getShoppingCartByUser(user);
@@ -53,25 +68,58 @@ public class ShoppingCartServiceImpl implements ShoppingCartService {
             cartItems.add(itemToSave);
         }
         cartItemRepository.save(itemToSave);
+        cacheInvalidationService.recordChange(CacheRegion.CARTS, user.getId());
         return shoppingCartMapper.toDto(shoppingCart);
     }
 
     @Override
     public ShoppingCartDto findByUser(User user) {
-        ShoppingCart shoppingCart = getShoppingCartByUser(user);
-        return shoppingCartMapper.toDto(shoppingCart);
+        return cartViewCache.get(user.getId(), this::loadCartView).cart();
+    }
+
+    @Override
+    public CartBadgeDto getBadge(User user) {
+        return cartViewCache.get(user.getId(), this::loadCartView).badge();
     }
 
     @Override
     public ShoppingCart getShoppingCartByUser(User user) {
+        return shoppingCartRepository.findByUserId(user.getId())
+                .orElseGet(() -> createShoppingCart(user));
+    }
+
+    private ShoppingCart createShoppingCart(User user) {
+        shoppingCartRepository.insertIfAbsent(user.getId());
         return shoppingCartRepository.findByUserId(user.getId())
                 .orElseThrow(() -> new EntityNotFoundException("Can`t find by user id"));
     }
 
     @Override
-    public void clearShoppingCart(ShoppingCart shoppingCart) {
-        cartItemRepository.deleteAll(shoppingCart.getCartItems());
-        shoppingCart.setCartItems(new HashSet<>());
-        shoppingCartRepository.save(shoppingCart);
+    public void prepareCheckout(User user) {
+    }
+
+    @Override
+    public void clearShoppingCart(User user) {
+        cartItemRepository.deleteAllByUserId(user.getId());
+        cacheInvalidationService.recordChange(CacheRegion.CARTS, user.getId());
+    }
+
+    private CartView loadCartView(Long userId) {
+        List<CartLine> lines = shoppingCartRepository.findCartLinesByUserId(userId);
+        Long cartId = lines.isEmpty() ? null : lines.get(0).cartId();
+        Set<CartItemResponseDto> cartItems = new LinkedHashSet<>();
+        long itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartLine line : lines) {
+            if (line.itemId() == null || line.bookId() == null) {
+                continue;
+            }
+            cartItems.add(new CartItemResponseDto(line.itemId(), line.bookId(),
+                    line.bookTitle(), line.quantity()));
+            itemCount += line.quantity();
+            total = total.add(line.price().multiply(BigDecimal.valueOf(line.quantity())));
+        }
+        return new CartView(new ShoppingCartDto(cartId, userId, cartItems),
+                new CartBadgeDto(itemCount, total));
     }
 }
@@ -0,0 +1,187 @@
+package com.example.onlinebookstore.service.shoppingcart.store;
+
+import com.example.onlinebookstore.exception.DataProcessingException;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class CartJournal {
+    private static final String SEGMENT_PREFIX = "cart-journal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String EMPTY = "-";
+
+    private final Path directory;
+    private long segment;
+    private FileChannel channel;
+    private BufferedWriter writer;
+
+    CartJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't create cart journal directory " + directory,
+                    e);
+        }
+        this.segment = findSegments().stream().mapToLong(Long::longValue).max().orElse(0);
+    }
+
+    synchronized List<JournalEntry> readAll() {
+        List<JournalEntry> entries = new ArrayList<>();
+        for (long existing : findSegments()) {
+            try (Stream<String> lines = Files.lines(segmentPath(existing))) {
+                lines.filter(line -> !line.isBlank())
+                        .map(CartJournal::parse)
+                        .forEach(entries::add);
+            } catch (IOException | RuntimeException e) {
+                throw new DataProcessingException("Can't read cart journal segment " + existing,
+                        e);
+            }
+        }
+        return entries;
+    }
+
+    synchronized void append(JournalEntry entry) {
+        try {
+            if (writer == null) {
+                open(segment + 1);
+            }
+            writer.write(format(entry));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't write cart journal", e);
+        }
+    }
+
+    void sync() {
+        FileChannel syncedChannel;
+        synchronized (this) {
+            if (writer == null) {
+                return;
+            }
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new DataProcessingException("Can't sync cart journal", e);
+            }
+            syncedChannel = channel;
+        }
+        try {
+            syncedChannel.force(false);
+        } catch (ClosedChannelException e) {
+            // the segment was rotated, and rotation forces it before closing
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't sync cart journal", e);
+        }
+    }
+
+    synchronized long rotate() {
+        sync();
+        close();
+        return segment;
+    }
+
+    synchronized void deleteSegmentsUpTo(long lastSegment) {
+        for (long existing : findSegments()) {
+            if (existing <= lastSegment && existing != currentSegment()) {
+                try {
+                    Files.deleteIfExists(segmentPath(existing));
+                } catch (IOException e) {
+                    throw new DataProcessingException("Can't delete cart journal segment "
+                            + existing, e);
+                }
+            }
+        }
+    }
+
+    synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't close cart journal", e);
+        } finally {
+            writer = null;
+            channel = null;
+        }
+    }
+
+    private long currentSegment() {
+        return writer == null ? -1 : segment;
+    }
+
+    private void open(long nextSegment) throws IOException {
+        channel = FileChannel.open(segmentPath(nextSegment), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+        segment = nextSegment;
+    }
+
+    private List<Long> findSegments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX)
+                            && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new DataProcessingException("Can't list cart journal segments", e);
+        }
+    }
+
+    private Path segmentPath(long segmentNumber) {
+        return directory.resolve(SEGMENT_PREFIX + segmentNumber + SEGMENT_SUFFIX);
+    }
+
+    private static String format(JournalEntry entry) {
+        CartSnapshot snapshot = entry.snapshot();
+        return entry.sequence() + " " + snapshot.userId() + " " + snapshot.cartId() + " "
+                + join(snapshot.items().stream()
+                        .map(item -> item.id() + ":" + item.bookId() + ":" + item.quantity()))
+                + " " + entry.checkoutStartedAt() + " "
+                + join(entry.checkoutItemIds().stream().map(String::valueOf));
+    }
+
+    private static JournalEntry parse(String line) {
+        String[] parts = line.split(" ");
+        List<CartSnapshot.Item> items = new ArrayList<>();
+        for (String item : split(parts[3])) {
+            String[] fields = item.split(":");
+            items.add(new CartSnapshot.Item(Long.parseLong(fields[0]),
+                    Long.parseLong(fields[1]), Integer.parseInt(fields[2])));
+        }
+        Set<Long> checkoutItemIds = new HashSet<>();
+        for (String itemId : split(parts[5])) {
+            checkoutItemIds.add(Long.parseLong(itemId));
+        }
+        return new JournalEntry(Long.parseLong(parts[0]),
+                new CartSnapshot(Long.parseLong(parts[1]), Long.parseLong(parts[2]), items),
+                Long.parseLong(parts[4]), checkoutItemIds);
+    }
+
+    private static String join(Stream<String> values) {
+        String joined = values.collect(Collectors.joining(","));
+        return joined.isEmpty() ? EMPTY : joined;
+    }
+
+    private static String[] split(String values) {
+        return values.equals(EMPTY) ? new String[0] : values.split(",");
+    }
+}
@@ -0,0 +1,374 @@
+package com.example.onlinebookstore.service.shoppingcart.store;
+
+import com.example.onlinebookstore.exception.EntityNotFoundException;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshotRepository;
+import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+@ConditionalOnProperty(name = "cart.storage", havingValue = "memory")
+public class InMemoryCartStore {
+    private final CartSnapshotRepository snapshotRepository;
+    private final ShoppingCartRepository shoppingCartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path journalDirectory;
+    private final Shard[] shards;
+    private final int flushBatchSize;
+    private final long idleTimeoutNanos;
+    private final ConcurrentMap<Long, Long> ownersByItemId = new ConcurrentHashMap<>();
+    private final AtomicLong lastItemId;
+    private final AtomicLong journalSequence = new AtomicLong();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public InMemoryCartStore(CartSnapshotRepository snapshotRepository,
+                             ShoppingCartRepository shoppingCartRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${cart.memory.shards}") int shardCount,
+                             @Value("${cart.memory.flush-batch-size}") int flushBatchSize,
+                             @Value("${cart.memory.idle-timeout}") Duration idleTimeout,
+                             @Value("${cart.memory.journal-dir}") Path journalDirectory) {
+        this.snapshotRepository = snapshotRepository;
+        this.shoppingCartRepository = shoppingCartRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.journalDirectory = journalDirectory;
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(new CartJournal(shardDirectory(i)));
+        }
+        this.flushBatchSize = flushBatchSize;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.lastItemId = new AtomicLong(recover());
+    }
+
+    public CartSnapshot get(Long userId) {
+        return withCart(userId, StoredCart::snapshot);
+    }
+
+    public CartSnapshot addBook(Long userId, Long bookId, int quantity) {
+        return update(userId, cart -> {
+            CartSnapshot.Item existing = cart.findItemByBookId(bookId);
+            if (existing == null) {
+                long itemId = lastItemId.incrementAndGet();
+                ownersByItemId.put(itemId, userId);
+                cart.putItem(new CartSnapshot.Item(itemId, bookId, quantity));
+            } else {
+                cart.putItem(new CartSnapshot.Item(existing.id(), bookId,
+                        existing.quantity() + quantity));
+            }
+        });
+    }
+
+    public CartSnapshot updateQuantity(Long itemId, int quantity) {
+        Long userId = findOwner(itemId).orElseThrow(
+                () -> new EntityNotFoundException("Can`t find cart item by id"));
+        return update(userId, cart -> {
+            CartSnapshot.Item item = cart.findItem(itemId);
+            if (item == null) {
+                throw new EntityNotFoundException("Can`t find cart item by id");
+            }
+            cart.putItem(new CartSnapshot.Item(itemId, item.bookId(), quantity));
+        });
+    }
+
+    public boolean removeItem(Long userId, Long itemId) {
+        return withCart(userId, cart -> {
+            if (!cart.removeItem(itemId)) {
+                return false;
+            }
+            ownersByItemId.remove(itemId);
+            append(cart);
+            return true;
+        });
+    }
+
+    public Optional<Long> findOwner(Long itemId) {
+        Long owner = ownersByItemId.get(itemId);
+        return owner != null
+                ? Optional.of(owner)
+                : snapshotRepository.findUserIdByItemId(itemId);
+    }
+
+    public void flushCart(Long userId) {
+        CartSnapshot snapshot = withCart(userId, StoredCart::snapshotAndMarkClean);
+        try {
+            transactionTemplate.executeWithoutResult(
+                    status -> snapshotRepository.saveAll(List.of(snapshot)));
+        } catch (RuntimeException e) {
+            markDirty(userId);
+            throw e;
+        }
+    }
+
+    public void flushForCheckout(Long userId) {
+        CartSnapshot snapshot = withCart(userId, cart -> {
+            CartSnapshot checkout = cart.startCheckout(System.currentTimeMillis());
+            append(cart);
+            return checkout;
+        });
+        try {
+            shardFor(userId).journal.sync();
+            snapshotRepository.saveAll(List.of(snapshot));
+        } catch (RuntimeException e) {
+            abortCheckout(userId);
+            throw e;
+        }
+    }
+
+    public void completeCheckout(Long userId) {
+        update(userId, cart -> cart.completeCheckout().forEach(ownersByItemId::remove));
+    }
+
+    public void abortCheckout(Long userId) {
+        update(userId, StoredCart::abortCheckout);
+    }
+
+    @Scheduled(fixedDelayString = "${cart.memory.journal-sync-interval}")
+    public void syncJournal() {
+        for (Shard shard : shards) {
+            shard.journal.sync();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${cart.memory.flush-interval}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushDirtyCarts();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void shutdown() {
+        flushLock.lock();
+        try {
+            flushDirtyCarts();
+            for (Shard shard : shards) {
+                shard.journal.close();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushDirtyCarts() {
+        long[] lastSegments = new long[shards.length];
+        List<CartSnapshot> snapshots = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            Shard shard = shards[i];
+            lastSegments[i] = shard.journal.rotate();
+            shard.lock.lock();
+            try {
+                for (StoredCart cart : shard.carts.values()) {
+                    if (cart.isDirty()) {
+                        snapshots.add(cart.snapshotAndMarkClean());
+                    }
+                    if (cart.hasPendingCheckout()) {
+                        append(cart);
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        for (int from = 0; from < snapshots.size(); from += flushBatchSize) {
+            List<CartSnapshot> batch = snapshots.subList(from,
+                    Math.min(from + flushBatchSize, snapshots.size()));
+            try {
+                transactionTemplate.executeWithoutResult(
+                        status -> snapshotRepository.saveAll(batch));
+            } catch (RuntimeException e) {
+                snapshots.subList(from, snapshots.size())
+                        .forEach(snapshot -> markDirty(snapshot.userId()));
+                throw e;
+            }
+        }
+        for (int i = 0; i < shards.length; i++) {
+            shards[i].journal.deleteSegmentsUpTo(lastSegments[i]);
+        }
+        evictIdleCarts(System.nanoTime() - idleTimeoutNanos);
+    }
+
+    private long recover() {
+        List<CartJournal> journals = new ArrayList<>();
+        for (Shard shard : shards) {
+            journals.add(shard.journal);
+        }
+        for (int i = shards.length; Files.isDirectory(shardDirectory(i)); i++) {
+            journals.add(new CartJournal(shardDirectory(i)));
+        }
+        Map<Long, JournalEntry> latest = new HashMap<>();
+        for (CartJournal journal : journals) {
+            for (JournalEntry entry : journal.readAll()) {
+                latest.merge(entry.snapshot().userId(), entry,
+                        (current, next) -> next.sequence() > current.sequence() ? next : current);
+                journalSequence.accumulateAndGet(entry.sequence(), Math::max);
+            }
+        }
+        List<Long> checkoutUserIds = latest.values().stream()
+                .filter(JournalEntry::hasPendingCheckout)
+                .map(entry -> entry.snapshot().userId())
+                .toList();
+        Map<Long, LocalDateTime> lastOrderDates = checkoutUserIds.isEmpty()
+                ? Map.of()
+                : snapshotRepository.findLastOrderDates(checkoutUserIds);
+        long maxItemId = snapshotRepository.findMaxItemId();
+        List<CartSnapshot> snapshots = new ArrayList<>(latest.size());
+        for (JournalEntry entry : latest.values()) {
+            for (CartSnapshot.Item item : entry.snapshot().items()) {
+                maxItemId = Math.max(maxItemId, item.id());
+            }
+            snapshots.add(isCheckedOut(entry, lastOrderDates.get(entry.snapshot().userId()))
+                    ? entry.snapshotWithoutCheckoutItems()
+                    : entry.snapshot());
+        }
+        for (int from = 0; from < snapshots.size(); from += flushBatchSize) {
+            List<CartSnapshot> batch = snapshots.subList(from,
+                    Math.min(from + flushBatchSize, snapshots.size()));
+            transactionTemplate.executeWithoutResult(status -> snapshotRepository.saveAll(batch));
+        }
+        for (int i = 0; i < journals.size(); i++) {
+            journals.get(i).deleteSegmentsUpTo(Long.MAX_VALUE);
+            if (i >= shards.length) {
+                journals.get(i).close();
+            }
+        }
+        return maxItemId;
+    }
+
+    private boolean isCheckedOut(JournalEntry entry, LocalDateTime lastOrderDate) {
+        if (!entry.hasPendingCheckout() || lastOrderDate == null) {
+            return false;
+        }
+        LocalDateTime checkoutStartedAt = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(entry.checkoutStartedAt()), ZoneId.systemDefault())
+                .truncatedTo(ChronoUnit.SECONDS);
+        return !lastOrderDate.isBefore(checkoutStartedAt);
+    }
+
+    private CartSnapshot update(Long userId, Consumer<StoredCart> change) {
+        return withCart(userId, cart -> {
+            change.accept(cart);
+            if (cart.isDirty()) {
+                append(cart);
+            }
+            return cart.snapshot();
+        });
+    }
+
+    private <T> T withCart(Long userId, Function<StoredCart, T> action) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            StoredCart cart = shard.carts.get(userId);
+            if (cart != null) {
+                cart.touch();
+                return action.apply(cart);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+        CartSnapshot loaded = load(userId);
+        shard.lock.lock();
+        try {
+            StoredCart cart = shard.carts.computeIfAbsent(userId, id -> {
+                loaded.items().forEach(item -> ownersByItemId.put(item.id(), userId));
+                return new StoredCart(loaded);
+            });
+            cart.touch();
+            return action.apply(cart);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private CartSnapshot load(Long userId) {
+        return snapshotRepository.findByUserId(userId).orElseGet(() -> {
+            shoppingCartRepository.insertIfAbsent(userId);
+            return snapshotRepository.findByUserId(userId).orElseThrow(
+                    () -> new EntityNotFoundException("Can`t find by user id"));
+        });
+    }
+
+    private void markDirty(Long userId) {
+        Shard shard = shardFor(userId);
+        shard.lock.lock();
+        try {
+            StoredCart cart = shard.carts.get(userId);
+            if (cart != null) {
+                cart.markDirty();
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    private void evictIdleCarts(long idleSinceNanos) {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                Iterator<StoredCart> carts = shard.carts.values().iterator();
+                while (carts.hasNext()) {
+                    StoredCart cart = carts.next();
+                    if (cart.isIdleSince(idleSinceNanos)) {
+                        cart.getItemIds().forEach(ownersByItemId::remove);
+                        carts.remove();
+                    }
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+    }
+
+    private void append(StoredCart cart) {
+        shardFor(cart.getUserId()).journal.append(
+                cart.journalEntry(journalSequence.incrementAndGet()));
+    }
+
+    private Path shardDirectory(int shard) {
+        return journalDirectory.resolve("shard-" + shard);
+    }
+
+    private Shard shardFor(Long userId) {
+        return shards[Math.floorMod(Long.hashCode(userId), shards.length)];
+    }
+
+    private static class Shard {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Map<Long, StoredCart> carts = new HashMap<>();
+        private final CartJournal journal;
+
+        Shard(CartJournal journal) {
+            this.journal = journal;
+        }
+    }
+}
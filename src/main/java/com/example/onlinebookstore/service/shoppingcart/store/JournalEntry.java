@@ -0,0 +1,17 @@
+package com.example.onlinebookstore.service.shoppingcart.store;
+
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import java.util.Set;
+
+record JournalEntry(long sequence, CartSnapshot snapshot, long checkoutStartedAt,
+                    Set<Long> checkoutItemIds) {
+    boolean hasPendingCheckout() {
+        return !checkoutItemIds.isEmpty();
+    }
+
+    CartSnapshot snapshotWithoutCheckoutItems() {
+        return new CartSnapshot(snapshot.userId(), snapshot.cartId(), snapshot.items().stream()
+                .filter(item -> !checkoutItemIds.contains(item.id()))
+                .toList());
+    }
+}
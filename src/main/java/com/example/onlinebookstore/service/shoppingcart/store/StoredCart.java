@@ -0,0 +1,112 @@
+package com.example.onlinebookstore.service.shoppingcart.store;
+
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class StoredCart {
+    private final Long userId;
+    private final Long cartId;
+    private final Map<Long, CartSnapshot.Item> items = new LinkedHashMap<>();
+    private Set<Long> checkoutItemIds = Set.of();
+    private long checkoutStartedAt;
+    private boolean dirty;
+    private long lastAccessNanos = System.nanoTime();
+
+    StoredCart(CartSnapshot snapshot) {
+        this.userId = snapshot.userId();
+        this.cartId = snapshot.cartId();
+        snapshot.items().forEach(item -> items.put(item.id(), item));
+    }
+
+    Long getUserId() {
+        return userId;
+    }
+
+    Set<Long> getItemIds() {
+        return items.keySet();
+    }
+
+    CartSnapshot.Item findItemByBookId(Long bookId) {
+        for (CartSnapshot.Item item : items.values()) {
+            if (item.bookId().equals(bookId)) {
+                return item;
+            }
+        }
+        return null;
+    }
+
+    CartSnapshot.Item findItem(Long itemId) {
+        return items.get(itemId);
+    }
+
+    void putItem(CartSnapshot.Item item) {
+        items.put(item.id(), item);
+        dirty = true;
+    }
+
+    boolean removeItem(Long itemId) {
+        boolean removed = items.remove(itemId) != null;
+        dirty |= removed;
+        return removed;
+    }
+
+    CartSnapshot startCheckout(long startedAt) {
+        checkoutItemIds = new HashSet<>(items.keySet());
+        checkoutStartedAt = startedAt;
+        dirty = false;
+        return snapshot();
+    }
+
+    Set<Long> completeCheckout() {
+        Set<Long> checkedOut = checkoutItemIds;
+        checkedOut.forEach(this::removeItem);
+        checkoutItemIds = Set.of();
+        dirty = true;
+        return checkedOut;
+    }
+
+    void abortCheckout() {
+        checkoutItemIds = Set.of();
+        dirty = true;
+    }
+
+    boolean hasPendingCheckout() {
+        return !checkoutItemIds.isEmpty();
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    CartSnapshot snapshotAndMarkClean() {
+        dirty = false;
+        return new CartSnapshot(userId, cartId, items.values().stream()
+                .filter(item -> !checkoutItemIds.contains(item.id()))
+                .toList());
+    }
+
+    CartSnapshot snapshot() {
+        return new CartSnapshot(userId, cartId, List.copyOf(items.values()));
+    }
+
+    JournalEntry journalEntry(long sequence) {
+        return new JournalEntry(sequence, snapshot(), checkoutStartedAt,
+                Set.copyOf(checkoutItemIds));
+    }
+
+    void touch() {
+        lastAccessNanos = System.nanoTime();
+    }
+
+    boolean isIdleSince(long nanos) {
+        return !dirty && checkoutItemIds.isEmpty() && lastAccessNanos - nanos < 0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.onlinebookstore.service.shoppingcart.store;
+
+import com.example.onlinebookstore.dto.cartitem.CartItemResponseDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
+import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
+import com.example.onlinebookstore.model.Book;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import com.example.onlinebookstore.service.shoppingcart.CartView;
+import com.example.onlinebookstore.service.shoppingcart.CartViewCache;
+import java.math.BigDecimal;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConditionalOnProperty(name = "cart.storage", havingValue = "memory")
+@RequiredArgsConstructor
+public class StoredCartViews {
+    private final InMemoryCartStore cartStore;
+    private final CartViewCache cartViewCache;
+    private final BookRepository bookRepository;
+
+    public CartView find(Long userId) {
+        return cartViewCache.get(userId, this::load);
+    }
+
+    private CartView load(Long userId) {
+        CartSnapshot snapshot = cartStore.get(userId);
+        Set<CartItemResponseDto> cartItems = new LinkedHashSet<>();
+        long itemCount = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        for (CartSnapshot.Item item : snapshot.items()) {
+            Book book = bookRepository.findById(item.bookId()).orElse(null);
+            if (book == null) {
+                continue;
+            }
+            cartItems.add(new CartItemResponseDto(item.id(), item.bookId(), book.getTitle(),
+                    item.quantity()));
+            itemCount += item.quantity();
+            total = total.add(book.getPrice().multiply(BigDecimal.valueOf(item.quantity())));
+        }
+        return new CartView(new ShoppingCartDto(snapshot.cartId(), userId, cartItems),
+                new CartBadgeDto(itemCount, total));
+    }
+}
@@ -5,14 +5,14 @@ import com.example.onlinebookstore.dto.user.UserResponseDto;
 import com.example.onlinebookstore.exception.RegistrationException;
 import com.example.onlinebookstore.mapper.UserMapper;
 import com.example.onlinebookstore.model.Role;
-import com.example.onlinebookstore.model.ShoppingCart;
 import com.example.onlinebookstore.model.User;
-import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
 import com.example.onlinebookstore.repository.user.UserRepository;
 import com.example.onlinebookstore.service.role.RoleService;
 import com.example.onlinebookstore.service.user.UserService;
 import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
@@ -20,19 +20,17 @@ import org.springframework.transaction.annotation.Transactional;
 @Component
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
+    private static final String EMAIL_CONSTRAINT = "uk_users_email";
+
     private final UserRepository userRepository;
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final RoleService roleService;
-    private final ShoppingCartRepository shoppingCartRepository;
 
-    @Transactional
+    @Transactional(rollbackFor = RegistrationException.class)
     @Override
     public UserResponseDto register(UserRegistrationRequestDto request)
             throws RegistrationException {
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new RegistrationException("Unable to complete registration.");
-        }
         User user = new User();
         user.setEmail(request.getEmail());
         user.setPassword(passwordEncoder.encode(request.getPassword()));
@@ -41,10 +39,19 @@ public class UserServiceImpl implements UserService {
         user.setShippingAddress(request.getShippingAddress());
         Role role = roleService.findByName(Role.RoleName.ROLE_USER);
         user.setRoles(Set.of(role));
-        User savedUser = userRepository.save(user);
-        ShoppingCart shoppingCart = new ShoppingCart();
-        shoppingCart.setUser(savedUser);
-        shoppingCartRepository.save(shoppingCart);
-        return userMapper.toUserResponse(savedUser);
+        try {
+            return userMapper.toUserResponse(userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateEmail(e)) {
+                throw new RegistrationException("Unable to complete registration.");
+            }
+            throw e;
+        }
+    }
+
+    private boolean isDuplicateEmail(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().endsWith(EMAIL_CONSTRAINT);
     }
 }
@@ -0,0 +1,53 @@
+package com.example.onlinebookstore.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.example.onlinebookstore.datasource.ReadWriteRoutingDataSource;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class DataSourceRoutingConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourceRoutingConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:routing",
+                    "datasource.routing.replicas[0].url=jdbc:h2:mem:replica");
+
+    @Test
+    @DisplayName("Checkout pool should be created while replica routing is disabled")
+    void dataSource_RoutingDisabled_ShouldKeepCheckoutPool() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=false")
+                .run(context -> assertEquals(Set.of("primary", "checkout"),
+                        resolvedKeys(context.getBean(DataSource.class))));
+    }
+
+    @Test
+    @DisplayName("Replicas should be added only when replica routing is enabled")
+    void dataSource_RoutingEnabled_ShouldAddReplicas() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=true")
+                .run(context -> assertEquals(Set.of("primary", "checkout", "replica-0"),
+                        resolvedKeys(context.getBean(DataSource.class))));
+    }
+
+    @Test
+    @DisplayName("Routing should be skipped without replicas or a checkout pool")
+    void dataSource_NothingToRoute_ShouldUseDefaultDataSource() {
+        contextRunner.withPropertyValues("datasource.routing.enabled=false",
+                        "datasource.routing.checkout-pool-size=0")
+                .run(context -> assertFalse(context.getBean(DataSource.class)
+                        instanceof LazyConnectionDataSourceProxy));
+    }
+
+    private Set<Object> resolvedKeys(DataSource dataSource) {
+        ReadWriteRoutingDataSource routingDataSource = (ReadWriteRoutingDataSource)
+                ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        return routingDataSource.getResolvedDataSources().keySet();
+    }
+}
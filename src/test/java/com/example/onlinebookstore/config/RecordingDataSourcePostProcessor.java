@@ -0,0 +1,77 @@
+package com.example.onlinebookstore.config;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+public class RecordingDataSourcePostProcessor implements BeanPostProcessor {
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    public static List<String> getStatements() {
+        return List.copyOf(STATEMENTS);
+    }
+
+    public static void clear() {
+        STATEMENTS.clear();
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+            return new RecordingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private static <T> T recording(T target, Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (target instanceof Connection
+                            && (name.equals("prepareStatement") || name.equals("prepareCall"))) {
+                        STATEMENTS.add((String) args[0]);
+                    }
+                    if (target instanceof Statement && name.startsWith("execute")
+                            && args != null && args.length > 0 && args[0] instanceof String sql) {
+                        STATEMENTS.add(sql);
+                    }
+                    Object result = invoke(target, method, args);
+                    if (name.equals("createStatement")) {
+                        return recording((Statement) result, Statement.class);
+                    }
+                    return result;
+                }));
+    }
+
+    private static class RecordingDataSource extends DelegatingDataSource {
+        RecordingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return recording(super.getConnection(), Connection.class);
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return recording(super.getConnection(username, password), Connection.class);
+        }
+    }
+}
@@ -316,7 +316,8 @@ class BookControllerTest {
         // Given
         BookSearchParameters bookSearchParameters = new BookSearchParameters(
                 new String[]{"Book1"},
-                new String[]{"Author1"}
+                new String[]{"Author1"},
+                null, null, null, null
         );
 
         List<BookDto> expected = new ArrayList<>();
@@ -346,7 +347,8 @@ class BookControllerTest {
         // Given
         BookSearchParameters bookSearchParameters = new BookSearchParameters(
                 new String[]{"Book7"},
-                new String[]{"Author7"}
+                new String[]{"Author7"},
+                null, null, null, null
         );
 
         // When
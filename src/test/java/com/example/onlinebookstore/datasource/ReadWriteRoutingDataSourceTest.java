@@ -0,0 +1,143 @@
+package com.example.onlinebookstore.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.onlinebookstore.bulkhead.Workload;
+import com.example.onlinebookstore.bulkhead.WorkloadContext;
+import com.example.onlinebookstore.model.User;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class ReadWriteRoutingDataSourceTest {
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private EmbeddedDatabase checkout;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        primary = createDatabase("primary");
+        replica = createDatabase("replica");
+        checkout = createDatabase("checkout");
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary,
+                checkout, List.of(replica), new ReplicaStickiness(Duration.ofMinutes(1),
+                        List.of("/cart/**", "/orders/**")));
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        DataSourceTransactionManager transactionManager =
+                new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        WorkloadContext.clear();
+        primary.shutdown();
+        replica.shutdown();
+        checkout.shutdown();
+    }
+
+    @Test
+    @DisplayName("Read-only transactions are routed to the replica")
+    void readOnlyTransaction_NoRecentWrite_UsesReplica() {
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("Read-write transactions and non-transactional work use the primary")
+    void readWriteTransaction_UsesPrimary() {
+        assertEquals("primary", readWriteTransaction.execute(status -> currentDatabase()));
+        assertEquals("primary", currentDatabase());
+    }
+
+    @Test
+    @DisplayName("Reads right after a user's cart or order write stay on the primary")
+    void readOnlyTransaction_AfterUserWrite_UsesPrimary() {
+        authenticate(1L);
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+
+        request("/cart");
+        readWriteTransaction.execute(status -> currentDatabase());
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> currentDatabase()));
+        authenticate(2L);
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("Writes outside cart and order paths do not pin the user to the primary")
+    void readOnlyTransaction_AfterUntrackedWrite_UsesReplica() {
+        authenticate(1L);
+        request("/auth/login");
+        readWriteTransaction.execute(status -> currentDatabase());
+        RequestContextHolder.resetRequestAttributes();
+        readWriteTransaction.execute(status -> currentDatabase());
+
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    @Test
+    @DisplayName("Checkout requests use the dedicated checkout pool")
+    void checkoutWorkload_UsesCheckoutPool() {
+        WorkloadContext.set(Workload.CHECKOUT);
+        assertEquals("checkout", readWriteTransaction.execute(status -> currentDatabase()));
+        assertEquals("checkout", readOnlyTransaction.execute(status -> currentDatabase()));
+
+        WorkloadContext.set(Workload.CATALOG);
+        assertEquals("replica", readOnlyTransaction.execute(status -> currentDatabase()));
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM marker", String.class);
+    }
+
+    private void request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.setServletPath(path);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    private void authenticate(Long userId) {
+        User user = new User();
+        user.setId(userId);
+        user.setRoles(Set.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    private EmbeddedDatabase createDatabase(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .setName(name)
+                .build();
+        JdbcTemplate template = new JdbcTemplate(database);
+        template.execute("CREATE TABLE marker (name VARCHAR(20))");
+        template.update("INSERT INTO marker (name) VALUES (?)", name);
+        return database;
+    }
+}
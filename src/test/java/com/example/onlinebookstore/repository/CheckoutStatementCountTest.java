@@ -0,0 +1,130 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.config.RecordingDataSourcePostProcessor;
+import com.example.onlinebookstore.dto.order.OrderRequestDto;
+import com.example.onlinebookstore.dto.order.OrderResponseDto;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import com.example.onlinebookstore.service.order.OrderService;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+@SpringBootTest
+@Import(RecordingDataSourcePostProcessor.class)
+class CheckoutStatementCountTest {
+    private static final int CART_SIZE = 20;
+    private static final int CHECKOUT_ROUND_TRIPS = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void beforeEach(@Autowired DataSource dataSource) throws SQLException {
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/insert-checkout-cart.sql")
+            );
+        }
+    }
+
+    @AfterEach
+    void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    static void teardown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/remove-checkout-cart.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Checkout copies the cart with a constant number of statements")
+    void addOrder_TwentyCartItems_CopiesCartInConstantRoundTrips(
+            @Autowired JdbcTemplate jdbcTemplate) {
+        // Given
+        User user = userRepository.findByEmail("checkout@example.com").orElseThrow();
+        RecordingDataSourcePostProcessor.clear();
+
+        // When
+        OrderResponseDto result = orderService.addOrder(user, createRequestDto());
+
+        // Then
+        assertEquals(CART_SIZE, result.getOrderItems().size());
+        assertEquals(0, BigDecimal.valueOf(CART_SIZE * 10).compareTo(result.getTotal()));
+        List<String> statements = getCheckoutStatements();
+        assertEquals(CHECKOUT_ROUND_TRIPS, statements.size());
+        assertEquals(1, statements.stream()
+                .filter(sql -> sql.startsWith("insert into order_items"))
+                .count());
+        assertEquals(1, statements.stream()
+                .filter(sql -> sql.startsWith("delete from cart_items"))
+                .count());
+        assertEquals(CART_SIZE, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM order_items WHERE order_id = ?", Integer.class,
+                result.getId()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE shopping_cart_id = 2001", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Checkout skips cart items of deleted books")
+    void addOrder_CartWithDeletedBook_ShouldNotChargeDeletedBook(
+            @Autowired JdbcTemplate jdbcTemplate) {
+        // Given
+        User user = userRepository.findByEmail("checkout@example.com").orElseThrow();
+        jdbcTemplate.update("UPDATE books SET is_deleted = TRUE WHERE id = 2001");
+
+        // When
+        OrderResponseDto result = orderService.addOrder(user, createRequestDto());
+
+        // Then
+        assertEquals(CART_SIZE - 1, result.getOrderItems().size());
+        assertTrue(result.getOrderItems().stream().noneMatch(item -> item.bookId() == 2001L));
+        assertEquals(0, BigDecimal.valueOf((CART_SIZE - 1) * 10).compareTo(result.getTotal()));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM cart_items WHERE shopping_cart_id = 2001", Integer.class));
+    }
+
+    private OrderRequestDto createRequestDto() {
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setShippingAddress("Address");
+        return requestDto;
+    }
+
+    private List<String> getCheckoutStatements() {
+        return RecordingDataSourcePostProcessor.getStatements().stream()
+                .map(sql -> sql.trim().toLowerCase())
+                .filter(sql -> !sql.contains("sales_daily_")
+                        && !sql.contains("cache_invalidation_log"))
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.onlinebookstore.dto.order.OrderRequestDto;
+import com.example.onlinebookstore.dto.order.OrderResponseDto;
+import com.example.onlinebookstore.dto.order.OrderSummaryDto;
+import com.example.onlinebookstore.dto.order.OrderSummaryPageDto;
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import com.example.onlinebookstore.service.order.OrderService;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+@SpringBootTest
+class OrderSummaryTest {
+    private static final int CART_SIZE = 20;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeEach
+    void beforeEach(@Autowired DataSource dataSource) throws SQLException {
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/insert-checkout-cart.sql")
+            );
+        }
+    }
+
+    @AfterEach
+    void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    static void teardown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/remove-checkout-cart.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Unsorted summaries return newest orders first with item counts and total")
+    void findSummaries_Unsorted_ShouldReturnNewestOrdersWithItemCounts(
+            @Autowired JdbcTemplate jdbcTemplate) {
+        // Given
+        User user = userRepository.findByEmail("checkout@example.com").orElseThrow();
+        OrderResponseDto first = orderService.addOrder(user, createRequestDto());
+        jdbcTemplate.update("INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)"
+                + " VALUES (2101, 2001, 2001, 2), (2102, 2001, 2002, 1)");
+        OrderResponseDto second = orderService.addOrder(user, createRequestDto());
+
+        // When
+        OrderSummaryPageDto result = orderService.findSummaries(user, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(2, result.totalOrders());
+        assertEquals(List.of(second.getId(), first.getId()), result.orders().stream()
+                .map(OrderSummaryDto::id)
+                .toList());
+        OrderSummaryDto latest = result.orders().get(0);
+        assertEquals(2, latest.itemCount());
+        assertEquals(0, BigDecimal.valueOf(30).compareTo(latest.total()));
+        assertEquals(Order.Status.PENDING, latest.status());
+        assertEquals(second.getOrderDate(), latest.orderDate());
+        assertEquals(CART_SIZE, result.orders().get(1).itemCount());
+    }
+
+    @Test
+    @DisplayName("Explicit sort takes precedence over the default summary order")
+    void findSummaries_SortedById_ShouldKeepRequestedSort(
+            @Autowired JdbcTemplate jdbcTemplate) {
+        // Given
+        User user = userRepository.findByEmail("checkout@example.com").orElseThrow();
+        final OrderResponseDto first = orderService.addOrder(user, createRequestDto());
+        jdbcTemplate.update("INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)"
+                + " VALUES (2101, 2001, 2001, 1)");
+        orderService.addOrder(user, createRequestDto());
+
+        // When
+        OrderSummaryPageDto result = orderService.findSummaries(user,
+                PageRequest.of(0, 1, Sort.by("id")));
+
+        // Then
+        assertEquals(2, result.totalOrders());
+        assertEquals(List.of(first.getId()), result.orders().stream()
+                .map(OrderSummaryDto::id)
+                .toList());
+    }
+
+    private OrderRequestDto createRequestDto() {
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setShippingAddress("Address");
+        return requestDto;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.config.RecordingStatementInspector;
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.book.BookRepository;
+import com.example.onlinebookstore.repository.book.BookSearchRepository;
+import com.example.onlinebookstore.repository.cartitem.CartItemRepository;
+import com.example.onlinebookstore.repository.order.OrderRepository;
+import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector"
+        + "=com.example.onlinebookstore.config.RecordingStatementInspector")
+class QueryPlanTest {
+    private static final String PARAMETER_VALUE = "1001";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private BookSearchRepository bookSearchRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Autowired
+    private CartItemRepository cartItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void beforeAll(@Autowired DataSource dataSource) throws SQLException {
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/plans/insert-query-plan-data.sql")
+            );
+        }
+    }
+
+    @AfterAll
+    static void afterAll(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    static void teardown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/plans/remove-query-plan-data.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("BookRepository.findAllByCategoriesId does not scan whole tables")
+    void findAllByCategoriesId_SeededData_NoFullTableScan() {
+        assertNoFullTableScan(() -> bookRepository.findAllByCategoriesId(1001L));
+    }
+
+    @Test
+    @DisplayName("Book search by author and title does not scan whole tables")
+    void search_ByAuthorAndTitle_NoFullTableScan() {
+        BookSearchParameters byAuthor = new BookSearchParameters(
+                null, new String[]{"Plan author 7"}, null, null, null, null);
+        BookSearchParameters byTitle = new BookSearchParameters(
+                new String[]{"Plan title 7"}, null, null, null, null, null);
+        assertNoFullTableScan(() -> bookSearchRepository.search(byAuthor,
+                PageRequest.of(0, 10)));
+        assertNoFullTableScan(() -> bookSearchRepository.search(byTitle,
+                PageRequest.of(0, 10)));
+    }
+
+    @Test
+    @DisplayName("OrderRepository derived queries do not scan whole tables")
+    void orderRepository_SeededData_NoFullTableScan() {
+        User user = userRepository.findByEmail("plan1@example.com").orElseThrow();
+        assertNoFullTableScan(() -> orderRepository.findIdsByUser(user, PageRequest.of(0, 10)));
+        assertNoFullTableScan(() -> orderRepository.findAllWithOrderItemsByIdIn(
+                List.of(1200L, 1400L)));
+        assertNoFullTableScan(() -> orderRepository.findByIdAndUser(1200L, user));
+        assertNoFullTableScan(() -> orderRepository.findByUserAndIdAndOrderItems_Id(
+                user, 1200L, 1200L));
+    }
+
+    @Test
+    @DisplayName("ShoppingCartRepository.findByUserId does not scan whole tables")
+    void findByUserId_SeededData_NoFullTableScan() {
+        assertNoFullTableScan(() -> shoppingCartRepository.findByUserId(1001L));
+    }
+
+    @Test
+    @DisplayName("CartItemRepository.findById does not scan whole tables")
+    void cartItemFindById_SeededData_NoFullTableScan() {
+        assertNoFullTableScan(() -> cartItemRepository.findById(1001L));
+    }
+
+    @Test
+    @DisplayName("UserRepository.findByEmail does not scan whole tables")
+    void findByEmail_SeededData_NoFullTableScan() {
+        assertNoFullTableScan(() -> userRepository.findByEmail("plan1@example.com"));
+    }
+
+    private void assertNoFullTableScan(Runnable query) {
+        RecordingStatementInspector.clear();
+        query.run();
+        List<String> statements = RecordingStatementInspector.getStatements();
+        assertFalse(statements.isEmpty(), "Query did not reach the database");
+        for (String sql : statements) {
+            List<String> scannedTables = findFullTableScans(sql);
+            assertTrue(scannedTables.isEmpty(),
+                    "Full table scan on " + scannedTables + " for query: " + sql);
+        }
+    }
+
+    @SneakyThrows
+    private List<String> findFullTableScans(String sql) {
+        String explainable = sql.replaceAll("(?i)limit \\?(\\s*,\\s*\\?)?", "limit 10")
+                .replaceAll("(?i)offset \\?", "offset 0");
+        List<String> scannedTables = new ArrayList<>();
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement(
+                        "EXPLAIN " + explainable)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setString(i, PARAMETER_VALUE);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    if ("ALL".equals(resultSet.getString("type"))) {
+                        scannedTables.add(resultSet.getString("table"));
+                    }
+                }
+            }
+        }
+        return scannedTables;
+    }
+}
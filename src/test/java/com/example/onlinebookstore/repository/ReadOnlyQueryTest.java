@@ -0,0 +1,101 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.example.onlinebookstore.dto.order.OrderRequestDto;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.repository.order.OrderRepository;
+import com.example.onlinebookstore.repository.user.UserRepository;
+import com.example.onlinebookstore.service.book.BookService;
+import com.example.onlinebookstore.service.order.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.SQLException;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+class ReadOnlyQueryTest {
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void beforeEach(@Autowired DataSource dataSource) throws SQLException {
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/insert-checkout-cart.sql")
+            );
+        }
+    }
+
+    @AfterEach
+    void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    static void teardown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/orders/remove-checkout-cart.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Book and order queries load entities without flushing the session")
+    void findAll_ReadOnlyTransactions_ShouldNotFlush(
+            @Autowired TransactionTemplate transactionTemplate) {
+        // Given
+        User user = userRepository.findByEmail("checkout@example.com").orElseThrow();
+        OrderRequestDto requestDto = new OrderRequestDto();
+        requestDto.setShippingAddress("Address");
+        orderService.addOrder(user, requestDto);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+
+        // When
+        orderService.findAll(user, PageRequest.of(0, 10));
+        bookService.findAll(PageRequest.of(0, 10));
+        long readOnlyFlushes = statistics.getFlushCount();
+        transactionTemplate.executeWithoutResult(status ->
+                orderRepository.findAllWithOrderItemsByIdIn(
+                        orderRepository.findIdsByUser(user, PageRequest.of(0, 10))));
+
+        // Then
+        assertTrue(statistics.getEntityLoadCount() > 0);
+        assertEquals(0, readOnlyFlushes);
+        assertEquals(1, statistics.getFlushCount());
+    }
+}
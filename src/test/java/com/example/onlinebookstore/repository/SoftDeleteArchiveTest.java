@@ -0,0 +1,108 @@
+package com.example.onlinebookstore.repository;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.onlinebookstore.repository.archive.ArchivedTable;
+import com.example.onlinebookstore.repository.archive.SoftDeleteArchiveRepository;
+import com.example.onlinebookstore.service.archive.ArchiveService;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+@SpringBootTest(properties = "archive.chunk-size=" + SoftDeleteArchiveTest.CHUNK_SIZE)
+class SoftDeleteArchiveTest {
+    static final int CHUNK_SIZE = 2;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private SoftDeleteArchiveRepository archiveRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void beforeEach(@Autowired DataSource dataSource) throws SQLException {
+        teardown(dataSource);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/archive/insert-soft-deleted-rows.sql")
+            );
+        }
+    }
+
+    @AfterEach
+    void afterEach(@Autowired DataSource dataSource) {
+        teardown(dataSource);
+    }
+
+    @SneakyThrows
+    static void teardown(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            ScriptUtils.executeSqlScript(
+                    connection,
+                    new ClassPathResource("database/archive/remove-soft-deleted-rows.sql")
+            );
+        }
+    }
+
+    @Test
+    @DisplayName("Archive should move unreferenced rows and hold back referenced ones")
+    void archiveSoftDeletedRows_ReferencedRows_ShouldHoldThemBack() {
+        // When
+        archiveService.archiveSoftDeletedRows();
+
+        // Then
+        assertEquals(List.of(3002L, 3003L, 3004L), ids("books"));
+        assertEquals(List.of(3001L), ids("books_archive"));
+        assertEquals(List.of(3001L, 3002L), ids("users"));
+        assertEquals(List.of(3003L), ids("users_archive"));
+        assertEquals(List.of(3003L), ids("shopping_carts_archive"));
+        assertEquals(List.of(3003L), ids("cart_items_archive"));
+        assertEquals(List.of(Map.of("book_id", 3001L, "category_id", 3001L),
+                        Map.of("book_id", 3004L, "category_id", 3002L)),
+                jdbcTemplate.queryForList("SELECT book_id, category_id"
+                        + " FROM books_categories_archive"
+                        + " WHERE book_id BETWEEN 3001 AND 3004 ORDER BY book_id"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cache_invalidation_log"
+                + " WHERE region = 'BOOKS' AND entity_id = 3001", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Archive should move every eligible row across several chunks")
+    void archiveSoftDeletedRows_MoreRowsThanChunk_ShouldArchiveAllChunks() {
+        // Given
+        List<Long> firstChunk = archiveRepository.findArchivableIds(ArchivedTable.CATEGORIES,
+                LocalDateTime.now(), CHUNK_SIZE);
+
+        // When
+        archiveService.archiveSoftDeletedRows();
+
+        // Then
+        assertEquals(List.of(3002L, 3003L), firstChunk);
+        assertEquals(List.of(3001L), ids("categories"));
+        assertEquals(List.of(3002L, 3003L, 3004L, 3005L, 3006L), ids("categories_archive"));
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table
+                + " WHERE id BETWEEN 3001 AND 3006 ORDER BY id", Long.class);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.onlinebookstore.repository.book;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import java.math.BigDecimal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class BookSearchShapeTest {
+    @DisplayName("IN-lists of similar size share one padded shape")
+    @Test
+    void of_InListsOfSimilarSize_ShouldShareShape() {
+        // Given
+        BookSearchParameters threeTitles = new BookSearchParameters(
+                new String[]{"a", "b", "c"}, null, null, null, null, null);
+        BookSearchParameters fourTitles = new BookSearchParameters(
+                new String[]{"a", "b", "c", "d"}, null, null, null, null, null);
+        BookSearchParameters fiveTitles = new BookSearchParameters(
+                new String[]{"a", "b", "c", "d", "e"}, null, null, null, null, null);
+
+        // When
+        BookSearchShape three = BookSearchShape.of(threeTitles, Sort.unsorted());
+        BookSearchShape four = BookSearchShape.of(fourTitles, Sort.unsorted());
+        BookSearchShape five = BookSearchShape.of(fiveTitles, Sort.unsorted());
+
+        // Then
+        assertEquals(four, three);
+        assertEquals(4, three.titles());
+        assertNotEquals(four, five);
+        assertEquals(8, five.titles());
+    }
+
+    @DisplayName("Render HQL with only the filters present in the shape")
+    @Test
+    void toHql_WithTitlesAndMinPrice_ShouldRenderOnlyThoseFilters() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(
+                new String[]{"a", "b"}, null, null, null, BigDecimal.TEN, null);
+
+        // When
+        String hql = BookSearchShape.of(params, Sort.by("price")).toHql();
+
+        // Then
+        assertEquals("SELECT b FROM Book b WHERE b.title IN (:title0, :title1)"
+                + " AND b.price >= :minPrice order by b.price asc", hql);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.onlinebookstore.exception.IdempotencyException;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class CachedBodyHttpServletRequestTest {
+    private static final byte[] BODY = "{\"bookId\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @DisplayName("Read listener should be notified right away and read the whole body")
+    @Test
+    void setReadListener_CachedBody_ShouldNotifyDataAvailableAndAllDataRead() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY);
+        ServletInputStream inputStream = new CachedBodyHttpServletRequest(request, BODY.length)
+                .getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> callbacks = new ArrayList<>();
+
+        // When
+        inputStream.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                callbacks.add("onDataAvailable");
+                while (inputStream.isReady() && !inputStream.isFinished()) {
+                    read.write(inputStream.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                callbacks.add("onAllDataRead");
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                callbacks.add("onError");
+            }
+        });
+
+        // Then
+        assertEquals(List.of("onDataAvailable", "onAllDataRead"), callbacks);
+        assertArrayEquals(BODY, read.toByteArray());
+    }
+
+    @DisplayName("Body larger than the limit should be rejected with payload too large")
+    @Test
+    void constructor_BodyOverLimit_ShouldThrowPayloadTooLarge() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent(BODY);
+
+        // When
+        IdempotencyException exception = assertThrows(IdempotencyException.class,
+                () -> new CachedBodyHttpServletRequest(request, BODY.length - 1));
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatus());
+    }
+
+    @DisplayName("Chunked body without a content length should be rejected past the limit")
+    @Test
+    void constructor_ChunkedBodyOverLimit_ShouldThrowPayloadTooLarge() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(BODY);
+
+        // When
+        IdempotencyException exception = assertThrows(IdempotencyException.class,
+                () -> new CachedBodyHttpServletRequest(request, BODY.length - 1));
+
+        // Then
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, exception.getStatus());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.onlinebookstore.security;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.exception.IdempotencyException;
+import com.example.onlinebookstore.model.User;
+import com.example.onlinebookstore.service.idempotency.IdempotencyService;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyFilterTest {
+    private static final int MAX_BODY_SIZE = 16;
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    @Mock
+    private HandlerExceptionResolver handlerExceptionResolver;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @DisplayName("Body over the limit should be rejected before it is hashed or stored")
+    @Test
+    void doFilter_BodyOverLimit_ShouldRejectWithPayloadTooLarge() throws Exception {
+        // Given
+        User user = new User();
+        user.setId(1L);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, List.of()));
+        when(idempotencyService.supports("POST", "/orders")).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/orders");
+        request.addHeader("Idempotency-Key", "key-1");
+        request.setContent(new byte[MAX_BODY_SIZE + 1]);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain filterChain = new MockFilterChain();
+
+        // When
+        new IdempotencyFilter(idempotencyService, handlerExceptionResolver, MAX_BODY_SIZE)
+                .doFilter(request, response, filterChain);
+
+        // Then
+        verify(handlerExceptionResolver).resolveException(eq(request), eq(response), isNull(),
+                argThat(e -> e instanceof IdempotencyException idempotencyException
+                        && idempotencyException.getStatus() == HttpStatus.PAYLOAD_TOO_LARGE));
+        verify(idempotencyService, never()).begin(anyLong(), anyString(), anyString(),
+                any());
+    }
+}
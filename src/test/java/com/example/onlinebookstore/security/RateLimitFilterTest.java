@@ -0,0 +1,92 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.onlinebookstore.config.RateLimitProperties;
+import java.time.Duration;
+import java.util.List;
+import org.apache.catalina.filters.RemoteIpFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockFilterConfig;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.PassThroughFilterChain;
+
+public class RateLimitFilterTest {
+    private static final String LOAD_BALANCER_ADDRESS = "10.0.0.1";
+
+    private RateLimitFilter rateLimitFilter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setPattern("/auth/**");
+        route.setKeyedByIp(true);
+        route.setCapacity(1);
+        route.setRefillTokens(1);
+        route.setRefillPeriod(Duration.ofMinutes(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(route));
+        rateLimitFilter = new RateLimitFilter(new RateLimiter(properties));
+    }
+
+    @DisplayName("Clients with different addresses should have separate buckets")
+    @Test
+    void doFilter_DifferentClientAddresses_ShouldLimitEachClientSeparately() throws Exception {
+        // Given
+        filter("203.0.113.1");
+
+        // When
+        int limited = filter("203.0.113.1");
+        int other = filter("203.0.113.2");
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), limited);
+        assertEquals(HttpStatus.OK.value(), other);
+    }
+
+    @DisplayName("Clients behind the load balancer should be keyed by forwarded address")
+    @Test
+    void doFilter_BehindLoadBalancer_ShouldLimitForwardedClientsSeparately() throws Exception {
+        // Given
+        RemoteIpFilter remoteIpFilter = new RemoteIpFilter();
+        remoteIpFilter.init(new MockFilterConfig());
+        filterForwarded(remoteIpFilter, "203.0.113.1");
+
+        // When
+        int limited = filterForwarded(remoteIpFilter, "203.0.113.1");
+        int other = filterForwarded(remoteIpFilter, "203.0.113.2");
+
+        // Then
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), limited);
+        assertEquals(HttpStatus.OK.value(), other);
+    }
+
+    private int filter(String remoteAddr) throws Exception {
+        MockHttpServletRequest request = createRequest(remoteAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        rateLimitFilter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private int filterForwarded(RemoteIpFilter remoteIpFilter, String clientAddr)
+            throws Exception {
+        MockHttpServletRequest request = createRequest(LOAD_BALANCER_ADDRESS);
+        request.addHeader("X-Forwarded-For", clientAddr);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        remoteIpFilter.doFilter(request, response,
+                new PassThroughFilterChain(rateLimitFilter, new MockFilterChain()));
+        return response.getStatus();
+    }
+
+    private MockHttpServletRequest createRequest(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.onlinebookstore.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TokenBucketTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @DisplayName("Consume within capacity should succeed")
+    @Test
+    void tryConsume_WithinCapacity_ShouldReturnZero() {
+        // Given
+        TokenBucket bucket = new TokenBucket(3, 1, SECOND, 0);
+
+        // When
+        long first = bucket.tryConsume(0);
+        long second = bucket.tryConsume(0);
+        long third = bucket.tryConsume(0);
+
+        // Then
+        assertEquals(0, first);
+        assertEquals(0, second);
+        assertEquals(0, third);
+    }
+
+    @DisplayName("Consume over capacity should return wait time until next token")
+    @Test
+    void tryConsume_OverCapacity_ShouldReturnWaitTime() {
+        // Given
+        TokenBucket bucket = new TokenBucket(1, 2, SECOND, 0);
+        bucket.tryConsume(0);
+
+        // When
+        long wait = bucket.tryConsume(SECOND / 4);
+
+        // Then
+        assertTrue(wait > 0 && wait <= SECOND / 4);
+    }
+
+    @DisplayName("Consume after refill period should succeed again")
+    @Test
+    void tryConsume_AfterRefill_ShouldReturnZero() {
+        // Given
+        TokenBucket bucket = new TokenBucket(2, 2, SECOND, 0);
+        bucket.tryConsume(0);
+        bucket.tryConsume(0);
+
+        // When
+        long wait = bucket.tryConsume(SECOND);
+
+        // Then
+        assertEquals(0, wait);
+        assertEquals(0, bucket.tryConsume(SECOND));
+        assertTrue(bucket.tryConsume(SECOND) > 0);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.dto.book.BookCategoryFilter;
+import com.example.onlinebookstore.repository.book.BookCategoryLink;
+import com.example.onlinebookstore.repository.book.BookCategoryLinkRepository;
+import com.example.onlinebookstore.service.book.index.BookCategoryIndex;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BookCategoryIndexTest {
+    private static final long FANTASY = 1L;
+    private static final long YOUNG_ADULT = 2L;
+    private static final long HORROR = 3L;
+
+    @InjectMocks
+    private BookCategoryIndex bookCategoryIndex;
+
+    @Mock
+    private BookCategoryLinkRepository linkRepository;
+
+    @BeforeEach
+    void setUp() {
+        when(linkRepository.findAllBookIds()).thenReturn(List.of(1L, 2L, 3L, 4L, 5L));
+        when(linkRepository.findAllLinks()).thenReturn(List.of(
+                new BookCategoryLink(1L, FANTASY),
+                new BookCategoryLink(1L, YOUNG_ADULT),
+                new BookCategoryLink(2L, FANTASY),
+                new BookCategoryLink(2L, YOUNG_ADULT),
+                new BookCategoryLink(2L, HORROR),
+                new BookCategoryLink(3L, FANTASY),
+                new BookCategoryLink(4L, HORROR)));
+        bookCategoryIndex.rebuild();
+    }
+
+    @DisplayName("All categories excluding one should return matching books")
+    @Test
+    void findBookIds_AllCategoriesWithExclusion_ShouldReturnMatchingBooks() {
+        // Given
+        BookCategoryFilter filter = new BookCategoryFilter(
+                List.of(FANTASY, YOUNG_ADULT), null, List.of(HORROR));
+
+        // When
+        List<Long> result = bookCategoryIndex.findBookIds(filter, 0, 10);
+
+        // Then
+        assertEquals(List.of(1L), result);
+    }
+
+    @DisplayName("Any category should return union of books")
+    @Test
+    void findBookIds_AnyCategories_ShouldReturnUnion() {
+        // Given
+        BookCategoryFilter filter = new BookCategoryFilter(
+                null, List.of(YOUNG_ADULT, HORROR), null);
+
+        // When
+        List<Long> result = bookCategoryIndex.findBookIds(filter, 0, 10);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 4L), result);
+    }
+
+    @DisplayName("Only excluded categories should return all other books paged")
+    @Test
+    void findBookIds_OnlyExcludedCategories_ShouldReturnPagedComplement() {
+        // Given
+        BookCategoryFilter filter = new BookCategoryFilter(null, null, List.of(HORROR));
+
+        // When
+        List<Long> firstPage = bookCategoryIndex.findBookIds(filter, 0, 2);
+        List<Long> secondPage = bookCategoryIndex.findBookIds(filter, 2, 2);
+        List<Long> emptyPage = bookCategoryIndex.findBookIds(filter, 4, 2);
+
+        // Then
+        assertEquals(List.of(1L, 3L), firstPage);
+        assertEquals(List.of(5L), secondPage);
+        assertEquals(List.of(), emptyPage);
+    }
+
+    @DisplayName("Book change should update the index")
+    @Test
+    void onCacheInvalidation_BookChanged_ShouldReindexBook() {
+        // Given
+        when(linkRepository.existsBook(3L)).thenReturn(true);
+        when(linkRepository.findCategoryIdsByBookId(3L)).thenReturn(List.of(HORROR));
+        when(linkRepository.existsBook(4L)).thenReturn(false);
+
+        // When
+        bookCategoryIndex.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheRegion.BOOKS, 3L, true));
+        bookCategoryIndex.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheRegion.BOOKS, 4L, false));
+
+        // Then
+        assertEquals(List.of(1L, 2L), bookCategoryIndex.findBookIds(
+                new BookCategoryFilter(List.of(FANTASY), null, null), 0, 10));
+        assertEquals(List.of(2L, 3L), bookCategoryIndex.findBookIds(
+                new BookCategoryFilter(List.of(HORROR), null, null), 0, 10));
+        assertEquals(List.of(1L, 2L, 3L, 5L), bookCategoryIndex.findBookIds(
+                new BookCategoryFilter(null, null, List.of(99L)), 0, 10));
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.dto.book.SalesWindow;
+import com.example.onlinebookstore.repository.book.BookSalesRollup;
+import com.example.onlinebookstore.repository.book.BookSalesRollupRepository;
+import com.example.onlinebookstore.repository.book.BookSalesTotal;
+import com.example.onlinebookstore.service.book.index.BookSalesRanking;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSalesRankingTest {
+    private static final int THREADS = 4;
+    private static final int ORDERS_PER_THREAD = 20_000;
+
+    @Mock
+    private BookSalesRollupRepository rollupRepository;
+
+    private BookSalesRanking bookSalesRanking;
+
+    @BeforeEach
+    void setUp() {
+        bookSalesRanking = new BookSalesRanking(rollupRepository, 2);
+    }
+
+    @DisplayName("Flush should write sales per book and hour bucket")
+    @Test
+    void flush_AfterOrders_ShouldAddRollupsPerBookAndHour() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        bookSalesRanking.onOrderPlaced(createOrderPlacedEvent(1L, now, Map.of(1L, 2, 2L, 1)));
+        bookSalesRanking.onOrderPlaced(createOrderPlacedEvent(2L, now, Map.of(1L, 3)));
+
+        // When
+        bookSalesRanking.flush();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookSalesRollup>> captor = ArgumentCaptor.forClass(List.class);
+        verify(rollupRepository).add(captor.capture());
+        LocalDateTime bucket = now.truncatedTo(ChronoUnit.HOURS);
+        assertEquals(List.of(new BookSalesRollup(1L, bucket, 5),
+                        new BookSalesRollup(2L, bucket, 1)),
+                captor.getValue().stream()
+                        .sorted(Comparator.comparing(BookSalesRollup::bookId))
+                        .toList());
+    }
+
+    @DisplayName("Failed flush should keep sales for the next flush")
+    @Test
+    void flush_RepositoryFails_ShouldRetrySalesOnNextFlush() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        bookSalesRanking.onOrderPlaced(createOrderPlacedEvent(1L, now, Map.of(1L, 2)));
+        doThrow(new QueryTimeoutException("timeout")).when(rollupRepository).add(any());
+        assertThrows(QueryTimeoutException.class, () -> bookSalesRanking.flush());
+
+        // When
+        assertThrows(QueryTimeoutException.class, () -> bookSalesRanking.flush());
+
+        // Then
+        verify(rollupRepository, times(2)).add(
+                List.of(new BookSalesRollup(1L, now.truncatedTo(ChronoUnit.HOURS), 2)));
+    }
+
+    @DisplayName("Top sellers should be filtered and limited")
+    @Test
+    void findTop_WithFilterAndLimit_ShouldReturnBestSellersFirst() {
+        // Given
+        when(rollupRepository.findTotals()).thenReturn(List.of(
+                new BookSalesTotal(3L, 10), new BookSalesTotal(1L, 7),
+                new BookSalesTotal(2L, 4), new BookSalesTotal(4L, 1)));
+        when(rollupRepository.findRollupsSince(any())).thenReturn(List.of());
+        bookSalesRanking.refreshRankings();
+
+        // When
+        List<BookSalesTotal> result = bookSalesRanking.findTop(SalesWindow.ALL,
+                bookId -> bookId != 1L, 10);
+
+        // Then
+        assertEquals(List.of(new BookSalesTotal(3L, 10), new BookSalesTotal(2L, 4)), result);
+        assertEquals(List.of(), bookSalesRanking.findTop(SalesWindow.DAY, bookId -> true, 10));
+    }
+
+    @DisplayName("Flush should apply sales to rankings without re-reading the rollup")
+    @Test
+    void flush_AfterRefresh_ShouldUpdateRankingsInMemory() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(rollupRepository.findTotals()).thenReturn(List.of(new BookSalesTotal(1L, 10)));
+        when(rollupRepository.findRollupsSince(any())).thenReturn(List.of(
+                new BookSalesRollup(1L, now.truncatedTo(ChronoUnit.HOURS).minusDays(2), 10)));
+        bookSalesRanking.refreshRankings();
+        bookSalesRanking.onOrderPlaced(createOrderPlacedEvent(1L, now, Map.of(2L, 4)));
+
+        // When
+        bookSalesRanking.flush();
+
+        // Then
+        verify(rollupRepository, times(1)).findTotals();
+        verify(rollupRepository, times(1)).findRollupsSince(any());
+        assertEquals(List.of(new BookSalesTotal(1L, 10), new BookSalesTotal(2L, 4)),
+                bookSalesRanking.findTop(SalesWindow.ALL, bookId -> true, 10));
+        assertEquals(List.of(new BookSalesTotal(1L, 10), new BookSalesTotal(2L, 4)),
+                bookSalesRanking.findTop(SalesWindow.WEEK, bookId -> true, 10));
+        assertEquals(List.of(new BookSalesTotal(2L, 4)),
+                bookSalesRanking.findTop(SalesWindow.DAY, bookId -> true, 10));
+        assertEquals(Map.of(1L, 10L, 2L, 4L), bookSalesRanking.getSoldQuantities());
+    }
+
+    @DisplayName("Concurrent orders in current and retired buckets should all be written")
+    @Test
+    void flush_ConcurrentOrders_ShouldNotLoseSales() throws Exception {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        AtomicLong written = new AtomicLong();
+        doAnswer(invocation -> {
+            List<BookSalesRollup> rollups = invocation.getArgument(0);
+            rollups.forEach(rollup -> written.addAndGet(rollup.quantity()));
+            return null;
+        }).when(rollupRepository).add(any());
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> orders = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            orders.add(executor.submit(() -> {
+                start.await();
+                for (int j = 0; j < ORDERS_PER_THREAD; j++) {
+                    bookSalesRanking.onOrderPlaced(createOrderPlacedEvent((long) j,
+                            j % 2 == 0 ? now : now.minusHours(3), Map.of(1L, 1)));
+                }
+                return null;
+            }));
+        }
+
+        // When
+        start.countDown();
+        while (orders.stream().anyMatch(order -> !order.isDone())) {
+            bookSalesRanking.flush();
+        }
+        for (Future<?> order : orders) {
+            order.get();
+        }
+        executor.shutdown();
+        bookSalesRanking.flush();
+
+        // Then
+        assertEquals((long) THREADS * ORDERS_PER_THREAD, written.get());
+    }
+
+    private OrderPlacedEvent createOrderPlacedEvent(Long orderId, LocalDateTime orderDate,
+                                                    Map<Long, Integer> quantitiesByBookId) {
+        return new OrderPlacedEvent(orderId, orderDate, BigDecimal.TEN,
+                quantitiesByBookId.entrySet().stream()
+                        .map(entry -> new OrderPlacedEvent.OrderedBook(entry.getKey(),
+                                entry.getValue(), BigDecimal.ONE, Set.of()))
+                        .toList());
+    }
+}
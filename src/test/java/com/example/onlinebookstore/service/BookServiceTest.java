@@ -17,15 +17,18 @@ import com.example.onlinebookstore.mapper.BookMapper;
 import com.example.onlinebookstore.model.Book;
 import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.book.BookRepository;
-import com.example.onlinebookstore.repository.book.BookSpecificationBuilder;
+import com.example.onlinebookstore.repository.book.BookSearchRepository;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
 import com.example.onlinebookstore.service.book.impl.BookServiceImpl;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.SingleFlight;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -37,7 +40,6 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
 
 @ExtendWith(MockitoExtension.class)
 public class BookServiceTest {
@@ -54,7 +56,13 @@ public class BookServiceTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private BookSpecificationBuilder bookSpecificationBuilder;
+    private BookSearchRepository bookSearchRepository;
+
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Mock
+    private SingleFlight singleFlight;
 
     @DisplayName("Get book by valid id")
     @Test
@@ -65,6 +73,7 @@ public class BookServiceTest {
         Book book = createBook();
         BookDto bookDto = createBookDto();
 
+        runSingleFlightLoads();
         when(bookRepository.findById(id)).thenReturn(Optional.of(book));
         when(bookMapper.toDto(book)).thenReturn(bookDto);
 
@@ -83,6 +92,7 @@ public class BookServiceTest {
         // Given
         Long invalidId = 100L;
 
+        runSingleFlightLoads();
         when(bookRepository.findById(invalidId)).thenReturn(Optional.empty());
 
         // When
@@ -318,31 +328,35 @@ public class BookServiceTest {
     @Test
     void search_WithValidSearchParameters_ShouldReturnAllBooksParameters() {
         // Given
+        runSingleFlightLoads();
         BookSearchParameters params = new BookSearchParameters(
-                new String[]{"Book1"}, new String[]{"Author1"});
-        Specification<Book> specification = bookSpecificationBuilder.build(params);
+                new String[]{"Book1"}, new String[]{"Author1"}, null, null, null, null);
+        Pageable pageable = PageRequest.of(0, 10);
         List<Book> bookList = createBookList();
 
         Book book = createBook();
         book.setId(1L);
 
         List<BookDto> bookDtoList = createBookDtoList();
-        when(bookSpecificationBuilder.build(params)).thenReturn(specification);
-        when(bookRepository.findAll(specification)).thenReturn(bookList);
+        when(bookSearchRepository.search(params, pageable)).thenReturn(bookList);
         when(bookMapper.toDto(bookList.get(0))).thenReturn(bookDtoList.get(0));
         when(bookMapper.toDto(bookList.get(1))).thenReturn(bookDtoList.get(1));
 
         // When
-        List<BookDto> result = bookService.search(params);
+        List<BookDto> result = bookService.search(params, pageable);
 
         // Then
         assertEquals(bookDtoList.get(0), result.get(0));
         assertEquals(bookDtoList.get(1), result.get(1));
-        verify(bookSpecificationBuilder, times(2)).build(params);
-        verify(bookRepository, times(1)).findAll(specification);
+        verify(bookSearchRepository, times(1)).search(params, pageable);
         verify(bookMapper, times(2)).toDto(any(Book.class));
     }
 
+    private void runSingleFlightLoads() {
+        when(singleFlight.execute(any(), any())).thenAnswer(
+                invocation -> invocation.getArgument(1, Supplier.class).get());
+    }
+
     private List<BookDtoWithoutCategoryIds> withoutCategoryIds() {
         List<BookDtoWithoutCategoryIds> books = new ArrayList<>();
         for (int i = 1; i < 3; i++) {
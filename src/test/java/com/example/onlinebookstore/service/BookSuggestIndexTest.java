@@ -0,0 +1,113 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.dto.book.BookSuggestionDto;
+import com.example.onlinebookstore.repository.book.BookCatalogRepository;
+import com.example.onlinebookstore.repository.book.BookCatalogRow;
+import com.example.onlinebookstore.service.book.index.BookSalesRanking;
+import com.example.onlinebookstore.service.book.index.BookSuggestIndex;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BookSuggestIndexTest {
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private BookSalesRanking salesRanking;
+
+    private BookSuggestIndex bookSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        bookSuggestIndex = new BookSuggestIndex(catalogRepository, salesRanking, 10);
+        when(catalogRepository.findAllRows()).thenReturn(List.of(
+                createRow(1L, "Harry Potter", "J. K. Rowling"),
+                createRow(2L, "Hamlet", "William Shakespeare"),
+                createRow(3L, "Héroes del Silencio", "Harold Pinter")));
+        when(salesRanking.getSoldQuantities()).thenReturn(Map.of(1L, 5L, 2L, 20L));
+        bookSuggestIndex.rebuild();
+    }
+
+    @DisplayName("Prefix should match titles and authors ranked by popularity")
+    @Test
+    void suggest_ByPrefix_ShouldReturnSuggestionsRankedByPopularity() {
+        // When
+        List<BookSuggestionDto> result = bookSuggestIndex.suggest("ha", 10);
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDto("Hamlet", "title"),
+                new BookSuggestionDto("Harry Potter", "title"),
+                new BookSuggestionDto("Harold Pinter", "author")), result);
+    }
+
+    @DisplayName("Prefix should match any word, ignoring case and diacritics")
+    @Test
+    void suggest_ByInnerWordWithoutAccents_ShouldReturnSuggestion() {
+        // When
+        List<BookSuggestionDto> potter = bookSuggestIndex.suggest("POTT", 10);
+        List<BookSuggestionDto> heroes = bookSuggestIndex.suggest("heroes del", 10);
+
+        // Then
+        assertEquals(List.of(new BookSuggestionDto("Harry Potter", "title")), potter);
+        assertEquals(List.of(new BookSuggestionDto("Héroes del Silencio", "title")), heroes);
+    }
+
+    @DisplayName("Book update should replace its suggestions incrementally")
+    @Test
+    void onCacheInvalidation_BookUpdated_ShouldReplaceSuggestions() {
+        // Given
+        when(catalogRepository.findRowById(2L)).thenReturn(
+                Optional.of(createRow(2L, "Macbeth", "William Shakespeare")));
+
+        // When
+        bookSuggestIndex.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheRegion.BOOKS, 2L, true));
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDto("Harry Potter", "title"),
+                new BookSuggestionDto("Harold Pinter", "author")),
+                bookSuggestIndex.suggest("ha", 10));
+        assertEquals(List.of(new BookSuggestionDto("Macbeth", "title")),
+                bookSuggestIndex.suggest("mac", 10));
+    }
+
+    @DisplayName("Popularity refresh should re-rank suggestions from the sales ranking")
+    @Test
+    void refreshPopularity_NewSales_ShouldReorderSuggestions() {
+        // Given
+        when(salesRanking.getSoldQuantities()).thenReturn(Map.of(1L, 50L, 2L, 20L));
+
+        // When
+        bookSuggestIndex.refreshPopularity();
+
+        // Then
+        assertEquals(List.of(
+                new BookSuggestionDto("Harry Potter", "title"),
+                new BookSuggestionDto("Hamlet", "title"),
+                new BookSuggestionDto("Harold Pinter", "author")),
+                bookSuggestIndex.suggest("ha", 10));
+        verify(catalogRepository, times(1)).findAllRows();
+    }
+
+    private BookCatalogRow createRow(Long id, String title, String author) {
+        return new BookCatalogRow(id, title, author, "isbn" + id, BigDecimal.TEN);
+    }
+}
@@ -0,0 +1,217 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.exception.StaleCacheException;
+import com.example.onlinebookstore.repository.cache.CacheInvalidationLogEntry;
+import com.example.onlinebookstore.repository.cache.CacheInvalidationLogRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.example.onlinebookstore.service.cache.impl.CacheInvalidationServiceImpl;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class CacheInvalidationServiceTest {
+    private static final int BATCH_SIZE = 100;
+
+    @Mock
+    private CacheInvalidationLogRepository logRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CacheInvalidationServiceImpl cacheInvalidationService;
+
+    @BeforeEach
+    void setUp() {
+        cacheInvalidationService = new CacheInvalidationServiceImpl(logRepository,
+                eventPublisher, transactionManager, 5000, 30000, 60, BATCH_SIZE);
+        when(logRepository.findMaxId()).thenReturn(10L);
+        cacheInvalidationService.pollChanges();
+    }
+
+    @DisplayName("Poll changes should publish changes made by other nodes")
+    @Test
+    void pollChanges_ChangesFromOtherNode_ShouldPublishEvents() {
+        // Given
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(11L, CacheRegion.BOOKS, 1L, "other"),
+                new CacheInvalidationLogEntry(12L, CacheRegion.CATEGORIES, 2L, "other")));
+
+        // When
+        cacheInvalidationService.pollChanges();
+
+        // Then
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, false));
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.CATEGORIES, 2L, false));
+    }
+
+    @DisplayName("Poll changes should skip changes recorded by the same node")
+    @Test
+    void pollChanges_ChangesFromSameNode_ShouldNotPublishRemoteEvents() {
+        // Given
+        cacheInvalidationService.recordChange(CacheRegion.BOOKS, 1L);
+        ArgumentCaptor<String> nodeId = ArgumentCaptor.forClass(String.class);
+        verify(logRepository).append(eq(CacheRegion.BOOKS), eq(1L), nodeId.capture());
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(11L, CacheRegion.BOOKS, 1L, nodeId.getValue())));
+
+        // When
+        cacheInvalidationService.pollChanges();
+
+        // Then
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, true));
+        verify(eventPublisher, never())
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, false));
+    }
+
+    @DisplayName("Poll changes should apply a change committed after a later one")
+    @Test
+    void pollChanges_LateCommittedChange_ShouldPublishEventOnce() {
+        // Given
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(12L, CacheRegion.BOOKS, 2L, "other")));
+        cacheInvalidationService.pollChanges();
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(11L, CacheRegion.BOOKS, 1L, "other"),
+                new CacheInvalidationLogEntry(12L, CacheRegion.BOOKS, 2L, "other")));
+
+        // When
+        cacheInvalidationService.pollChanges();
+        when(logRepository.findAfter(12L, BATCH_SIZE)).thenReturn(List.of());
+        cacheInvalidationService.pollChanges();
+
+        // Then
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, false));
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 2L, false));
+        verify(logRepository, times(1)).findAfter(12L, BATCH_SIZE);
+    }
+
+    @DisplayName("Ensure fresh should not poll within the staleness bound")
+    @Test
+    void ensureFresh_RecentPoll_ShouldNotQueryLog() {
+        // When
+        cacheInvalidationService.ensureFresh();
+
+        // Then
+        verify(logRepository, never()).findAfter(anyLong(), anyInt());
+        verify(eventPublisher, never()).publishEvent(any(CacheInvalidationEvent.class));
+    }
+
+    @DisplayName("Poll changes should apply a late change behind a jump larger than a batch")
+    @Test
+    void pollChanges_LateChangeBehindLargeJump_ShouldPublishEvent() {
+        // Given
+        long farId = 10L + BATCH_SIZE * 5;
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(farId, CacheRegion.BOOKS, 2L, "other")));
+        cacheInvalidationService.pollChanges();
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenReturn(List.of(
+                new CacheInvalidationLogEntry(42L, CacheRegion.BOOKS, 1L, "other"),
+                new CacheInvalidationLogEntry(farId, CacheRegion.BOOKS, 2L, "other")));
+
+        // When
+        cacheInvalidationService.pollChanges();
+
+        // Then
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, false));
+        verify(eventPublisher, times(1))
+                .publishEvent(new CacheInvalidationEvent(CacheRegion.BOOKS, 2L, false));
+    }
+
+    @DisplayName("Ensure fresh should wait for a running poll that covers the request")
+    @Test
+    void ensureFresh_PollInProgress_ShouldWaitForIt() throws Exception {
+        // Given
+        CacheInvalidationServiceImpl staleService = createStaleService(1000);
+        CountDownLatch release = new CountDownLatch(1);
+        final Thread poller = startBlockedPoll(staleService, release);
+        Thread reader = new Thread(staleService::ensureFresh);
+        reader.start();
+
+        // When
+        Thread.sleep(100);
+        assertTrue(reader.isAlive());
+        release.countDown();
+        reader.join(5000);
+        poller.join();
+
+        // Then
+        assertFalse(reader.isAlive());
+        verify(logRepository, times(1)).findAfter(10L, BATCH_SIZE);
+    }
+
+    @DisplayName("Ensure fresh should fail when no poll completes within the staleness bound")
+    @Test
+    void ensureFresh_PollStuckPastBound_ShouldThrow() throws Exception {
+        // Given
+        CacheInvalidationServiceImpl staleService = createStaleService(100);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread poller = startBlockedPoll(staleService, release);
+
+        // When
+        try {
+            assertThrows(StaleCacheException.class, staleService::ensureFresh);
+        } finally {
+            release.countDown();
+            poller.join();
+        }
+
+        // Then
+        verify(logRepository, times(1)).findAfter(10L, BATCH_SIZE);
+    }
+
+    private CacheInvalidationServiceImpl createStaleService(long maxStalenessMillis)
+            throws InterruptedException {
+        CacheInvalidationServiceImpl staleService = new CacheInvalidationServiceImpl(
+                logRepository, eventPublisher, transactionManager, maxStalenessMillis, 30000, 60,
+                BATCH_SIZE);
+        staleService.pollChanges();
+        Thread.sleep(maxStalenessMillis + 50);
+        return staleService;
+    }
+
+    private Thread startBlockedPoll(CacheInvalidationServiceImpl service, CountDownLatch release)
+            throws InterruptedException {
+        CountDownLatch polling = new CountDownLatch(1);
+        when(logRepository.findAfter(10L, BATCH_SIZE)).thenAnswer(invocation -> {
+            polling.countDown();
+            release.await();
+            return List.of();
+        });
+        Thread poller = new Thread(service::pollChanges);
+        poller.start();
+        assertTrue(polling.await(5, TimeUnit.SECONDS));
+        return poller;
+    }
+}
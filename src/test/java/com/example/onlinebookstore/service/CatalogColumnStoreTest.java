@@ -0,0 +1,121 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.dto.book.BookFacetsDto;
+import com.example.onlinebookstore.dto.book.BookSearchParameters;
+import com.example.onlinebookstore.dto.book.FacetCountDto;
+import com.example.onlinebookstore.dto.book.PriceBucketCountDto;
+import com.example.onlinebookstore.repository.book.BookCatalogRepository;
+import com.example.onlinebookstore.repository.book.BookCatalogRow;
+import com.example.onlinebookstore.repository.book.BookCategoryLink;
+import com.example.onlinebookstore.repository.book.BookCategoryLinkRepository;
+import com.example.onlinebookstore.service.book.index.CatalogColumnStore;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CatalogColumnStoreTest {
+    @Mock
+    private BookCatalogRepository catalogRepository;
+
+    @Mock
+    private BookCategoryLinkRepository linkRepository;
+
+    private CatalogColumnStore catalogColumnStore;
+
+    @BeforeEach
+    void setUp() {
+        catalogColumnStore = new CatalogColumnStore(catalogRepository, linkRepository,
+                new BigDecimal[]{BigDecimal.valueOf(20), BigDecimal.valueOf(10)}, 10);
+        when(catalogRepository.findAllRows()).thenReturn(List.of(
+                new BookCatalogRow(1L, "Book1", "Author1", "111", BigDecimal.valueOf(5)),
+                new BookCatalogRow(2L, "Book2", "Author1", "222", BigDecimal.valueOf(10)),
+                new BookCatalogRow(3L, "Book3", "Author2", "333", new BigDecimal("19.99")),
+                new BookCatalogRow(4L, "Book4", "Author3", "444", BigDecimal.valueOf(30))));
+        when(linkRepository.findAllLinks()).thenReturn(List.of(
+                new BookCategoryLink(1L, 1L),
+                new BookCategoryLink(2L, 1L),
+                new BookCategoryLink(3L, 2L),
+                new BookCategoryLink(4L, 2L)));
+    }
+
+    @DisplayName("Facets without filters should count the whole catalog")
+    @Test
+    void computeFacets_NoFilters_ShouldCountAllBooks() {
+        // When
+        BookFacetsDto result = catalogColumnStore.computeFacets(
+                new BookSearchParameters(null, null, null, null, null, null));
+
+        // Then
+        assertEquals(4, result.total());
+        assertEquals(List.of(new FacetCountDto("Author1", 2), new FacetCountDto("Author2", 1),
+                new FacetCountDto("Author3", 1)), result.authors());
+        assertEquals(List.of(
+                new PriceBucketCountDto(null, BigDecimal.valueOf(10), 1),
+                new PriceBucketCountDto(BigDecimal.valueOf(10), BigDecimal.valueOf(20), 2),
+                new PriceBucketCountDto(BigDecimal.valueOf(20), null, 1)),
+                result.priceBuckets());
+    }
+
+    @DisplayName("Facets should count only books matching the filters")
+    @Test
+    void computeFacets_WithFilters_ShouldCountMatchingBooks() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(null, null, null,
+                new Long[]{2L}, BigDecimal.valueOf(15), BigDecimal.valueOf(25));
+
+        // When
+        BookFacetsDto result = catalogColumnStore.computeFacets(params);
+
+        // Then
+        assertEquals(1, result.total());
+        assertEquals(List.of(new FacetCountDto("2", 1)), result.categories());
+        assertEquals(List.of(new FacetCountDto("Author2", 1)), result.authors());
+    }
+
+    @DisplayName("Facet filters should match titles, authors and isbns ignoring case")
+    @Test
+    void computeFacets_FiltersInOtherCase_ShouldMatchLikeSql() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(new String[]{"BOOK1", "book2"},
+                new String[]{"author1"}, null, null, null, null);
+
+        // When
+        BookFacetsDto result = catalogColumnStore.computeFacets(params);
+
+        // Then
+        assertEquals(2, result.total());
+        assertEquals(List.of(new FacetCountDto("Author1", 2)), result.authors());
+    }
+
+    @DisplayName("Facets should be rebuilt only after a catalog change")
+    @Test
+    void computeFacets_AfterInvalidation_ShouldReloadColumns() {
+        // Given
+        BookSearchParameters params = new BookSearchParameters(
+                null, new String[]{"Author1"}, null, null, null, null);
+        catalogColumnStore.computeFacets(params);
+        catalogColumnStore.computeFacets(params);
+
+        // When
+        catalogColumnStore.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheRegion.BOOKS, 1L, true));
+        BookFacetsDto result = catalogColumnStore.computeFacets(params);
+
+        // Then
+        assertEquals(2, result.total());
+        verify(catalogRepository, times(2)).findAllRows();
+    }
+}
@@ -13,6 +13,7 @@ import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.CategoryMapper;
 import com.example.onlinebookstore.model.Category;
 import com.example.onlinebookstore.repository.category.CategoryRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
 import com.example.onlinebookstore.service.category.impl.CategoryServiceImpl;
 import java.util.List;
 import java.util.Optional;
@@ -39,6 +40,9 @@ public class CategoryServiceTest {
     @Mock
     private CategoryMapper categoryMapper;
 
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
     @Test
     @DisplayName("Create a new category")
     void save_Valid_CreateCategoryRequestDto_ReturnsCategoryDto() {
@@ -0,0 +1,158 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.exception.IdempotencyException;
+import com.example.onlinebookstore.repository.idempotency.IdempotencyKeyRepository;
+import com.example.onlinebookstore.repository.idempotency.IdempotencyRecord;
+import com.example.onlinebookstore.repository.idempotency.IdempotentResponse;
+import com.example.onlinebookstore.service.idempotency.impl.IdempotencyServiceImpl;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+public class IdempotencyServiceTest {
+    private static final String KEY = "key-1";
+    private static final String ORDERS = "/orders";
+    private static final String HASH = "hash-1";
+    private static final IdempotentResponse CREATED =
+            new IdempotentResponse(201, "application/json", "{\"id\":1}");
+
+    @Mock
+    private IdempotencyKeyRepository keyRepository;
+
+    private IdempotencyServiceImpl idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyServiceImpl(keyRepository, List.of(ORDERS, "/cart"),
+                100, Duration.ofHours(1), Duration.ofSeconds(5), 10, Duration.ofMinutes(1));
+    }
+
+    @DisplayName("Completed key should be replayed from the database and then from memory")
+    @Test
+    void begin_CompletedKey_ShouldReplayStoredResponse() {
+        // Given
+        when(keyRepository.insertPending(1L, KEY, ORDERS, HASH)).thenReturn(false);
+        when(keyRepository.deletePendingCreatedBefore(any(), any(), any())).thenReturn(false);
+        when(keyRepository.find(1L, KEY)).thenReturn(Optional.of(
+                new IdempotencyRecord(ORDERS, HASH, CREATED, LocalDateTime.now(),
+                        LocalDateTime.now())));
+
+        // When
+        Optional<IdempotentResponse> result = idempotencyService.begin(1L, KEY, ORDERS, HASH);
+
+        // Then
+        assertEquals(Optional.of(CREATED), result);
+        assertEquals(Optional.of(CREATED), idempotencyService.begin(1L, KEY, ORDERS, HASH));
+        verify(keyRepository, times(1)).find(1L, KEY);
+    }
+
+    @DisplayName("Concurrent duplicate should wait for the first execution")
+    @Test
+    void begin_ConcurrentDuplicate_ShouldReturnFirstResponse() {
+        // Given
+        when(keyRepository.insertPending(1L, KEY, ORDERS, HASH)).thenReturn(true);
+        assertTrue(idempotencyService.begin(1L, KEY, ORDERS, HASH).isEmpty());
+        CompletableFuture<Optional<IdempotentResponse>> duplicate = CompletableFuture
+                .supplyAsync(() -> idempotencyService.begin(1L, KEY, ORDERS, HASH));
+
+        // When
+        idempotencyService.complete(1L, KEY, ORDERS, HASH, CREATED);
+
+        // Then
+        assertEquals(Optional.of(CREATED), duplicate.join());
+        verify(keyRepository, times(1)).insertPending(1L, KEY, ORDERS, HASH);
+        verify(keyRepository).complete(1L, KEY, CREATED);
+    }
+
+    @DisplayName("Server error should release the key for a retry")
+    @Test
+    void complete_ServerError_ShouldReleaseKey() {
+        // Given
+        when(keyRepository.insertPending(1L, KEY, ORDERS, HASH)).thenReturn(true);
+        idempotencyService.begin(1L, KEY, ORDERS, HASH);
+
+        // When
+        idempotencyService.complete(1L, KEY, ORDERS, HASH, new IdempotentResponse(500, null, ""));
+
+        // Then
+        verify(keyRepository).deleteUncommitted(1L, KEY);
+        assertTrue(idempotencyService.begin(1L, KEY, ORDERS, HASH).isEmpty());
+        verify(keyRepository, times(2)).insertPending(1L, KEY, ORDERS, HASH);
+    }
+
+    @DisplayName("Reusing a key with another request body should be rejected")
+    @Test
+    void begin_DifferentBody_ShouldThrowUnprocessableEntity() {
+        // Given
+        when(keyRepository.insertPending(1L, KEY, ORDERS, "hash-2")).thenReturn(false);
+        when(keyRepository.deletePendingCreatedBefore(any(), any(), any())).thenReturn(false);
+        when(keyRepository.find(1L, KEY)).thenReturn(Optional.of(
+                new IdempotencyRecord(ORDERS, HASH, CREATED, LocalDateTime.now(),
+                        LocalDateTime.now())));
+
+        // When
+        IdempotencyException exception = assertThrows(IdempotencyException.class,
+                () -> idempotencyService.begin(1L, KEY, ORDERS, "hash-2"));
+
+        // Then
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, exception.getStatus());
+    }
+
+    @DisplayName("Committed key without a stored response should not be executed again")
+    @Test
+    void begin_AbandonedCommittedKey_ShouldThrowConflict() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(5);
+        when(keyRepository.insertPending(1L, KEY, ORDERS, HASH)).thenReturn(false);
+        when(keyRepository.deletePendingCreatedBefore(any(), any(), any())).thenReturn(false);
+        when(keyRepository.find(1L, KEY)).thenReturn(Optional.of(
+                new IdempotencyRecord(ORDERS, HASH, null, createdAt, createdAt)));
+
+        // When
+        IdempotencyException exception = assertThrows(IdempotencyException.class,
+                () -> idempotencyService.begin(1L, KEY, ORDERS, HASH));
+
+        // Then
+        assertEquals(HttpStatus.CONFLICT, exception.getStatus());
+        verify(keyRepository, times(1)).insertPending(1L, KEY, ORDERS, HASH);
+    }
+
+    @DisplayName("Placing an order should mark the current key as committed")
+    @Test
+    void onOrderPlaced_CurrentKey_ShouldMarkKeyCommitted() {
+        // Given
+        when(keyRepository.insertPending(1L, KEY, ORDERS, HASH)).thenReturn(true);
+        idempotencyService.begin(1L, KEY, ORDERS, HASH);
+
+        // When
+        idempotencyService.onOrderPlaced(new OrderPlacedEvent(1L, LocalDateTime.now(),
+                BigDecimal.TEN, List.of()));
+        idempotencyService.release(1L, KEY);
+        idempotencyService.onOrderPlaced(new OrderPlacedEvent(2L, LocalDateTime.now(),
+                BigDecimal.TEN, List.of()));
+
+        // Then
+        verify(keyRepository, times(1)).markCommitted(1L, KEY);
+        verify(keyRepository).deleteUncommitted(1L, KEY);
+    }
+}
@@ -0,0 +1,192 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshot;
+import com.example.onlinebookstore.repository.shoppingcart.CartSnapshotRepository;
+import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.service.shoppingcart.store.InMemoryCartStore;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class InMemoryCartStoreTest {
+    @Mock
+    private CartSnapshotRepository snapshotRepository;
+
+    @Mock
+    private ShoppingCartRepository shoppingCartRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private InMemoryCartStore cartStore;
+
+    @BeforeEach
+    void setUp() {
+        when(snapshotRepository.findMaxItemId()).thenReturn(10L);
+        cartStore = createCartStore();
+    }
+
+    @DisplayName("Flush should write each dirty cart once")
+    @Test
+    void flush_AfterCartChanges_ShouldWriteDirtyCartsOnce() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        cartStore.addBook(1L, 7L, 2);
+        cartStore.addBook(1L, 7L, 2);
+
+        // When
+        cartStore.flush();
+        cartStore.flush();
+
+        // Then
+        verify(snapshotRepository, times(1)).saveAll(List.of(
+                new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(11L, 7L, 4)))));
+    }
+
+    @DisplayName("Carts that failed to flush should be recovered from the journal")
+    @Test
+    void flush_RepositoryFails_ShouldRecoverCartsFromJournal() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(snapshotRepository).saveAll(any());
+        cartStore.addBook(1L, 7L, 2);
+        assertThrows(QueryTimeoutException.class, () -> cartStore.flush());
+
+        // When
+        createCartStore();
+
+        // Then
+        CartSnapshot expected = new CartSnapshot(1L, 5L,
+                List.of(new CartSnapshot.Item(11L, 7L, 2)));
+        verify(snapshotRepository, times(2)).saveAll(List.of(expected));
+    }
+
+    @DisplayName("Completed checkout should keep only items added after checkout started")
+    @Test
+    void completeCheckout_AfterConcurrentAdd_ShouldKeepNewItems() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        doNothing().when(snapshotRepository).saveAll(any());
+        cartStore.addBook(1L, 7L, 2);
+        cartStore.flushForCheckout(1L);
+        cartStore.addBook(1L, 8L, 1);
+
+        // When
+        cartStore.completeCheckout(1L);
+
+        // Then
+        assertEquals(new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(12L, 8L, 1))),
+                cartStore.get(1L));
+    }
+
+    @DisplayName("Flush during an open checkout should not write checked-out items back")
+    @Test
+    void flush_DuringCheckout_ShouldSkipCheckedOutItems() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        doNothing().when(snapshotRepository).saveAll(any());
+        cartStore.addBook(1L, 7L, 2);
+        cartStore.flushForCheckout(1L);
+        cartStore.addBook(1L, 8L, 1);
+
+        // When
+        cartStore.flush();
+
+        // Then
+        verify(snapshotRepository).saveAll(List.of(
+                new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(12L, 8L, 1)))));
+    }
+
+    @DisplayName("Failed checkout write should release the items for the next flush")
+    @Test
+    void flushForCheckout_RepositoryFails_ShouldAbortCheckout() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        doThrow(new QueryTimeoutException("timeout")).doNothing()
+                .when(snapshotRepository).saveAll(any());
+        cartStore.addBook(1L, 7L, 2);
+        assertThrows(QueryTimeoutException.class, () -> cartStore.flushForCheckout(1L));
+
+        // When
+        cartStore.flush();
+
+        // Then
+        verify(snapshotRepository, times(2)).saveAll(List.of(
+                new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(11L, 7L, 2)))));
+        cartStore.completeCheckout(1L);
+        assertEquals(new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(11L, 7L, 2))),
+                cartStore.get(1L));
+    }
+
+    @DisplayName("Recovery after a committed checkout should not restore checked-out items")
+    @Test
+    void recover_CheckoutCommittedBeforeCrash_ShouldDropCheckedOutItems() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        when(snapshotRepository.findLastOrderDates(List.of(1L)))
+                .thenReturn(Map.of(1L, LocalDateTime.now().plusSeconds(1)));
+        cartStore.addBook(1L, 7L, 2);
+        cartStore.flushForCheckout(1L);
+
+        // When
+        createCartStore();
+
+        // Then
+        verify(snapshotRepository).saveAll(List.of(new CartSnapshot(1L, 5L, List.of())));
+    }
+
+    @DisplayName("Recovery after an unfinished checkout should restore the whole cart")
+    @Test
+    void recover_CheckoutNotCommittedBeforeCrash_ShouldRestoreItems() {
+        // Given
+        when(snapshotRepository.findByUserId(1L))
+                .thenReturn(Optional.of(new CartSnapshot(1L, 5L, List.of())));
+        when(snapshotRepository.findLastOrderDates(List.of(1L))).thenReturn(Map.of());
+        cartStore.addBook(1L, 7L, 2);
+        cartStore.flushForCheckout(1L);
+
+        // When
+        createCartStore();
+
+        // Then
+        verify(snapshotRepository, times(2)).saveAll(List.of(
+                new CartSnapshot(1L, 5L, List.of(new CartSnapshot.Item(11L, 7L, 2)))));
+    }
+
+    private InMemoryCartStore createCartStore() {
+        return new InMemoryCartStore(snapshotRepository, shoppingCartRepository,
+                transactionManager, 4, 100, Duration.ofMinutes(30), journalDirectory);
+    }
+}
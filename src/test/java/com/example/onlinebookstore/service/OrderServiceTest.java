@@ -0,0 +1,83 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateDto;
+import com.example.onlinebookstore.dto.order.OrderBulkStatusUpdateResponseDto;
+import com.example.onlinebookstore.dto.order.OrderStatusUpdateResultDto;
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.order.OrderRepository;
+import com.example.onlinebookstore.repository.order.OrderStatusView;
+import com.example.onlinebookstore.service.order.impl.OrderServiceImpl;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class OrderServiceTest {
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 1, 10, 30);
+
+    @InjectMocks
+    private OrderServiceImpl orderService;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @DisplayName("Bulk update by filter should report outcome counts without per-order results")
+    @Test
+    void updateOrderStatuses_ByFilter_ShouldReturnCountsOnly() {
+        // Given
+        ReflectionTestUtils.setField(orderService, "bulkUpdateChunkSize", 2);
+        OrderBulkStatusUpdateDto requestDto = new OrderBulkStatusUpdateDto();
+        requestDto.setStatus(Order.Status.DELIVERED);
+        requestDto.setOrderDateTo(ORDER_DATE);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        when(orderRepository.findIdsByStatusAndOrderDate(0L, null, null, ORDER_DATE,
+                PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(orderRepository.findIdsByStatusAndOrderDate(2L, null, null, ORDER_DATE,
+                PageRequest.of(0, 2))).thenReturn(List.of(3L));
+        List<OrderStatusView> firstChunk = List.of(createStatusView(1L, Order.Status.PENDING),
+                createStatusView(2L, Order.Status.COMPLETED));
+        when(orderRepository.findStatusesForUpdateByIdIn(List.of(1L, 2L)))
+                .thenReturn(firstChunk);
+        List<OrderStatusView> secondChunk = List.of(createStatusView(3L, Order.Status.PENDING));
+        when(orderRepository.findStatusesForUpdateByIdIn(List.of(3L))).thenReturn(secondChunk);
+
+        // When
+        OrderBulkStatusUpdateResponseDto result = orderService.updateOrderStatuses(requestDto);
+
+        // Then
+        assertEquals(2, result.updated());
+        assertEquals(Map.of(OrderStatusUpdateResultDto.Outcome.UPDATED, 2,
+                OrderStatusUpdateResultDto.Outcome.INVALID_TRANSITION, 1), result.outcomes());
+        assertEquals(List.of(), result.results());
+    }
+
+    private OrderStatusView createStatusView(Long id, Order.Status status) {
+        OrderStatusView view = mock(OrderStatusView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getStatus()).thenReturn(status.name());
+        return view;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.repository.orderitem.OrderBasket;
+import com.example.onlinebookstore.repository.orderitem.OrderBasketRepository;
+import com.example.onlinebookstore.service.book.index.RelatedBooksIndex;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class RelatedBooksIndexTest {
+    @Mock
+    private OrderBasketRepository basketRepository;
+
+    private RelatedBooksIndex relatedBooksIndex;
+
+    @BeforeEach
+    void setUp() {
+        relatedBooksIndex = new RelatedBooksIndex(basketRepository, 3, 2);
+        when(basketRepository.findMaxOrderId()).thenReturn(3L);
+        when(basketRepository.findBaskets(0, 2)).thenReturn(List.of(
+                new OrderBasket(1L, new long[]{1L, 2L, 3L}),
+                new OrderBasket(2L, new long[]{1L, 2L})));
+        when(basketRepository.findBaskets(2, 3)).thenReturn(List.of(
+                new OrderBasket(3L, new long[]{1L, 4L})));
+        relatedBooksIndex.rebuild();
+    }
+
+    @DisplayName("Rebuild should rank books by how often they were ordered together")
+    @Test
+    void rebuild_FromOrderHistory_ShouldRankByCoOccurrence() {
+        // When
+        List<Long> result = relatedBooksIndex.findRelatedBookIds(1L, 10);
+
+        // Then
+        assertEquals(List.of(2L, 3L, 4L), result);
+        assertEquals(List.of(1L), relatedBooksIndex.findRelatedBookIds(4L, 10));
+        assertEquals(List.of(), relatedBooksIndex.findRelatedBookIds(5L, 10));
+    }
+
+    @DisplayName("Placed orders should update related books incrementally")
+    @Test
+    void onOrderPlaced_NewOrders_ShouldUpdateRanking() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+
+        // When
+        relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(4L, now, Map.of(1L, 1, 4L, 2)));
+        relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(5L, now, Map.of(1L, 1, 4L, 1)));
+
+        // Then
+        assertEquals(List.of(4L, 2L), relatedBooksIndex.findRelatedBookIds(1L, 2));
+    }
+
+    @DisplayName("Rows should be pruned to the best neighbours once they grow too large")
+    @Test
+    void onOrderPlaced_ManyNeighbours_ShouldDropWeakestNeighbours() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> largeOrder = LongStream.rangeClosed(1, 16)
+                .filter(bookId -> bookId < 2 || bookId > 4)
+                .boxed()
+                .collect(Collectors.toMap(Function.identity(), bookId -> 1));
+        relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(4L, now, largeOrder));
+
+        // When
+        relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(5L, now, Map.of(1L, 1, 16L, 1)));
+        relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(6L, now, Map.of(1L, 1, 16L, 1)));
+
+        // Then
+        assertEquals(List.of(2L, 16L, 3L), relatedBooksIndex.findRelatedBookIds(1L, 10));
+    }
+
+    @DisplayName("Rebuild should replay orders committed behind an already scanned range")
+    @Test
+    void rebuild_OrdersCommittedDuringScan_ShouldReplayOnlyUnscannedOrders() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        when(basketRepository.findMaxOrderId()).thenReturn(6L);
+        when(basketRepository.findBaskets(0, 2)).thenReturn(List.of(
+                new OrderBasket(1L, new long[]{1L, 2L})));
+        when(basketRepository.findBaskets(2, 4)).thenAnswer(invocation -> {
+            relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(1L, now, Map.of(1L, 1, 2L, 1)));
+            relatedBooksIndex.onOrderPlaced(createOrderPlacedEvent(2L, now, Map.of(5L, 1, 6L, 1)));
+            return List.of(new OrderBasket(3L, new long[]{1L, 4L}),
+                    new OrderBasket(4L, new long[]{1L, 4L}));
+        });
+        when(basketRepository.findBaskets(4, 6)).thenReturn(List.of());
+
+        // When
+        relatedBooksIndex.rebuild();
+
+        // Then
+        assertEquals(List.of(4L, 2L), relatedBooksIndex.findRelatedBookIds(1L, 10));
+        assertEquals(List.of(6L), relatedBooksIndex.findRelatedBookIds(5L, 10));
+    }
+
+    private OrderPlacedEvent createOrderPlacedEvent(Long orderId, LocalDateTime orderDate,
+                                                    Map<Long, Integer> quantitiesByBookId) {
+        return new OrderPlacedEvent(orderId, orderDate, BigDecimal.TEN,
+                quantitiesByBookId.entrySet().stream()
+                        .map(entry -> new OrderPlacedEvent.OrderedBook(entry.getKey(),
+                                entry.getValue(), BigDecimal.ONE, Set.of()))
+                        .toList());
+    }
+}
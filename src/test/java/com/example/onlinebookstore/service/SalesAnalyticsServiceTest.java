@@ -0,0 +1,111 @@
+package com.example.onlinebookstore.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.onlinebookstore.model.Order;
+import com.example.onlinebookstore.repository.analytics.CategorySalesDelta;
+import com.example.onlinebookstore.repository.analytics.OrderStatusDelta;
+import com.example.onlinebookstore.repository.analytics.SalesAnalyticsRepository;
+import com.example.onlinebookstore.service.analytics.impl.SalesAnalyticsServiceImpl;
+import com.example.onlinebookstore.service.order.OrderPlacedEvent;
+import com.example.onlinebookstore.service.order.OrderStatusChangedEvent;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@ExtendWith(MockitoExtension.class)
+public class SalesAnalyticsServiceTest {
+    private static final LocalDateTime ORDER_DATE = LocalDateTime.of(2024, 3, 1, 10, 30);
+    private static final LocalDate DAY = ORDER_DATE.toLocalDate();
+
+    @InjectMocks
+    private SalesAnalyticsServiceImpl salesAnalyticsService;
+
+    @Mock
+    private SalesAnalyticsRepository analyticsRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @DisplayName("Placed order should add revenue, category sales and a pending order")
+    @Test
+    void onOrderPlaced_ValidOrder_ShouldUpdateRollups() {
+        // Given
+        OrderPlacedEvent event = new OrderPlacedEvent(1L, ORDER_DATE, BigDecimal.valueOf(35),
+                List.of(new OrderPlacedEvent.OrderedBook(1L, 2, BigDecimal.TEN, Set.of(1L, 2L)),
+                        new OrderPlacedEvent.OrderedBook(2L, 1, BigDecimal.valueOf(15),
+                                Set.of(2L))));
+
+        // When
+        salesAnalyticsService.onOrderPlaced(event);
+
+        // Then
+        verify(analyticsRepository).addDailyRevenue(DAY, 1, 3, BigDecimal.valueOf(35));
+        verify(analyticsRepository).addCategorySales(List.of(
+                new CategorySalesDelta(DAY, 1L, 2, BigDecimal.valueOf(20)),
+                new CategorySalesDelta(DAY, 2L, 3, BigDecimal.valueOf(35))));
+        verify(analyticsRepository).addStatusCounts(List.of(
+                new OrderStatusDelta(DAY, Order.Status.PENDING.name(), 1)));
+    }
+
+    @DisplayName("Status changes should move orders between statuses of their order day")
+    @Test
+    void onOrderStatusChanged_SeveralOrders_ShouldAggregateDeltas() {
+        // Given
+        OrderStatusChangedEvent event = new OrderStatusChangedEvent(List.of(
+                new OrderStatusChangedEvent.StatusChange(1L, ORDER_DATE,
+                        Order.Status.PENDING, Order.Status.DELIVERED),
+                new OrderStatusChangedEvent.StatusChange(2L, ORDER_DATE,
+                        Order.Status.PENDING, Order.Status.DELIVERED)));
+
+        // When
+        salesAnalyticsService.onOrderStatusChanged(event);
+
+        // Then
+        verify(analyticsRepository).addStatusCounts(List.of(
+                new OrderStatusDelta(DAY, Order.Status.DELIVERED.name(), 2),
+                new OrderStatusDelta(DAY, Order.Status.PENDING.name(), -2)));
+    }
+
+    @DisplayName("Backfill should recompute each range of days in its own transaction")
+    @Test
+    void backfill_SeveralChunks_ShouldRecomputeEachChunkSeparately() {
+        // Given
+        ReflectionTestUtils.setField(salesAnalyticsService, "backfillChunkDays", 7);
+        LocalDate today = LocalDate.now();
+        when(analyticsRepository.findFirstOrderDay()).thenReturn(Optional.of(today.minusDays(10)));
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+
+        // When
+        salesAnalyticsService.backfill();
+
+        // Then
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(analyticsRepository).backfill(today.minusDays(10), today.minusDays(3),
+                today.minusDays(3).atStartOfDay());
+        verify(analyticsRepository).backfill(eq(today.minusDays(3)), eq(today.plusDays(1)),
+                argThat(rollupTo -> rollupTo.isBefore(LocalDateTime.now().minusMinutes(59))));
+    }
+}
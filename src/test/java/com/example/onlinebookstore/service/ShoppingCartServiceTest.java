@@ -2,13 +2,15 @@ package com.example.onlinebookstore.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.example.onlinebookstore.dto.cartitem.CartItemDto;
 import com.example.onlinebookstore.dto.cartitem.CartItemResponseDto;
+import com.example.onlinebookstore.dto.shoppingcart.CartBadgeDto;
 import com.example.onlinebookstore.dto.shoppingcart.ShoppingCartDto;
 import com.example.onlinebookstore.exception.EntityNotFoundException;
 import com.example.onlinebookstore.mapper.CartItemMapper;
@@ -20,10 +22,17 @@ import com.example.onlinebookstore.model.ShoppingCart;
 import com.example.onlinebookstore.model.User;
 import com.example.onlinebookstore.repository.book.BookRepository;
 import com.example.onlinebookstore.repository.cartitem.CartItemRepository;
+import com.example.onlinebookstore.repository.shoppingcart.CartLine;
 import com.example.onlinebookstore.repository.shoppingcart.ShoppingCartRepository;
+import com.example.onlinebookstore.service.cache.CacheInvalidationEvent;
+import com.example.onlinebookstore.service.cache.CacheInvalidationService;
+import com.example.onlinebookstore.service.cache.CacheRegion;
+import com.example.onlinebookstore.service.shoppingcart.CartViewCache;
 import com.example.onlinebookstore.service.shoppingcart.impl.ShoppingCartServiceImpl;
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.junit.jupiter.api.DisplayName;
@@ -31,6 +40,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,25 +63,49 @@ public class ShoppingCartServiceTest {
     @Mock
     private CartItemMapper cartItemMapper;
 
-    @DisplayName("Add book shopping cart with invalid id user should return exception")
+    @Mock
+    private CacheInvalidationService cacheInvalidationService;
+
+    @Spy
+    private CartViewCache cartViewCache = new CartViewCache(100, Duration.ofMinutes(1));
+
+    @DisplayName("Find by user without shopping cart should return empty shopping cart")
     @Test
-    void addBookToShopCart_ByInvalidUserId_ShouldReturnException() {
+    void findByUser_WithoutShoppingCart_ShouldReturnEmptyShoppingCart() {
         // Given
         User user = createUser();
 
-        when(shoppingCartRepository.findByUserId(user.getId())).thenReturn(Optional.empty());
+        when(shoppingCartRepository.findCartLinesByUserId(user.getId())).thenReturn(List.of());
 
         // When
-        Exception exception = assertThrows(
-                EntityNotFoundException.class,
-                () -> shoppingCartService.findByUser(user)
-        );
+        ShoppingCartDto result = shoppingCartService.findByUser(user);
 
         // Then
-        String expected = "Can`t find by user id";
-        String actual = exception.getMessage();
-        assertEquals(expected, actual);
-        verify(shoppingCartRepository, times(1)).findByUserId(1L);
+        ShoppingCartDto expected = new ShoppingCartDto(null, user.getId(), Set.of());
+        assertEquals(expected, result);
+        verify(shoppingCartRepository, times(1)).findCartLinesByUserId(1L);
+        verify(shoppingCartRepository, never()).insertIfAbsent(1L);
+    }
+
+    @DisplayName("Get shopping cart by user without shopping cart should create it")
+    @Test
+    void getShoppingCartByUser_WithoutShoppingCart_ShouldCreateShoppingCart() {
+        // Given
+        User user = createUser();
+        ShoppingCart shoppingCart = createShoppingCart();
+
+        when(shoppingCartRepository.findByUserId(user.getId()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(shoppingCart));
+        when(shoppingCartRepository.insertIfAbsent(user.getId())).thenReturn(1);
+
+        // When
+        ShoppingCart result = shoppingCartService.getShoppingCartByUser(user);
+
+        // Then
+        assertEquals(shoppingCart, result);
+        verify(shoppingCartRepository, times(1)).insertIfAbsent(1L);
+        verify(shoppingCartRepository, times(2)).findByUserId(1L);
     }
 
     @DisplayName("Add book shopping cart with invalid id book should return exception")
@@ -130,6 +164,7 @@ public class ShoppingCartServiceTest {
         verify(bookRepository, times(1)).findById(cartItemDto.getBookId());
         verify(cartItemRepository, times(1)).save(cartItem);
         verify(shoppingCartMapper, times(1)).toDto(shoppingCart);
+        verify(cacheInvalidationService, times(1)).recordChange(CacheRegion.CARTS, user.getId());
     }
 
     @DisplayName("Add cart items to shopping cart valid data should return shopping cart")
@@ -165,43 +200,61 @@ public class ShoppingCartServiceTest {
         verify(shoppingCartMapper, times(1)).toDto(shoppingCart);
     }
 
-    @DisplayName("Find by user valid id, return shopping cart")
+    @DisplayName("Find by user valid id should return shopping cart from one query")
     @Test
     void findByUser_ValidUserId_ReturnShoppingCart() {
         // Given
-        ShoppingCart shoppingCart = createShoppingCart();
+        User user = createUser();
         ShoppingCartDto shoppingCartDto = new ShoppingCartDto(1L, 1L,
                 Set.of(new CartItemResponseDto(1L, 1L, "Book1", 1)));
 
-        when(shoppingCartRepository.findByUserId(
-                shoppingCart.getUser().getId())).thenReturn(Optional.of(shoppingCart));
-        when(shoppingCartMapper.toDto(shoppingCart)).thenReturn(shoppingCartDto);
+        when(shoppingCartRepository.findCartLinesByUserId(user.getId())).thenReturn(List.of(
+                new CartLine(1L, 1L, 1L, "Book1", BigDecimal.TEN, 1)));
 
         // When
-        ShoppingCartDto result = shoppingCartService.findByUser(shoppingCart.getUser());
+        ShoppingCartDto result = shoppingCartService.findByUser(user);
 
         // Then
         assertEquals(shoppingCartDto, result);
-        verify(shoppingCartRepository, times(1))
-                .findByUserId(shoppingCart.getUser().getId());
-        verify(shoppingCartMapper, times(1)).toDto(shoppingCart);
+        verify(shoppingCartRepository, times(1)).findCartLinesByUserId(user.getId());
+        verify(shoppingCartMapper, never()).toDto(any());
     }
 
+    @DisplayName("Cart badge should be reloaded after a cart change on another node")
     @Test
-    void clearShoppingCart_ValidShoppingCartTest_ShouldReturnNothing() {
+    void getBadge_UnchangedCart_ShouldNotReloadCart() {
         // Given
-        ShoppingCart shoppingCart = createShoppingCart();
-        shoppingCart.setCartItems(new HashSet<>());
+        User user = createUser();
 
-        doNothing().when(cartItemRepository).deleteAll(shoppingCart.getCartItems());
-        when(shoppingCartRepository.save(shoppingCart)).thenReturn(shoppingCart);
+        when(shoppingCartRepository.findCartLinesByUserId(user.getId()))
+                .thenReturn(List.of(new CartLine(1L, 1L, 1L, "Book1", BigDecimal.TEN, 2),
+                        new CartLine(1L, 2L, 2L, "Book2", BigDecimal.ONE, 3)))
+                .thenReturn(List.of(new CartLine(1L, null, null, null, null, null)));
+        shoppingCartService.findByUser(user);
+
+        // When
+        CartBadgeDto result = shoppingCartService.getBadge(user);
+        cartViewCache.onCacheInvalidation(
+                new CacheInvalidationEvent(CacheRegion.CARTS, user.getId(), false));
+
+        // Then
+        assertEquals(new CartBadgeDto(5, BigDecimal.valueOf(23)), result);
+        assertEquals(new CartBadgeDto(0, BigDecimal.ZERO), shoppingCartService.getBadge(user));
+        verify(shoppingCartRepository, times(2)).findCartLinesByUserId(user.getId());
+    }
+
+    @Test
+    void clearShoppingCart_ValidUser_ShouldDeleteCartItemsInOneStatement() {
+        // Given
+        User user = createUser();
+        when(cartItemRepository.deleteAllByUserId(user.getId())).thenReturn(2);
 
         // When
-        shoppingCartService.clearShoppingCart(shoppingCart);
+        shoppingCartService.clearShoppingCart(user);
 
         // Then
-        verify(cartItemRepository, times(1)).deleteAll(shoppingCart.getCartItems());
-        verify(shoppingCartRepository, times(1)).save(shoppingCart);
+        verify(cartItemRepository, times(1)).deleteAllByUserId(user.getId());
+        verify(cacheInvalidationService, times(1)).recordChange(CacheRegion.CARTS, 1L);
     }
 
     private CartItem createCartItem() {
@@ -0,0 +1,111 @@
+package com.example.onlinebookstore.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.example.onlinebookstore.exception.EntityNotFoundException;
+import com.example.onlinebookstore.service.cache.SingleFlight;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+public class SingleFlightTest {
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @DisplayName("Concurrent loads of the same key should share one load")
+    @Test
+    void execute_ConcurrentSameKey_ShouldLoadOnce() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager, 5000);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        AtomicInteger loadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            loadCount.incrementAndGet();
+            loadStarted.countDown();
+            await(releaseLoad);
+            return "value";
+        }));
+        loadStarted.await(5, TimeUnit.SECONDS);
+        final Future<String> follower = executor.submit(() -> singleFlight.execute("key", () -> {
+            loadCount.incrementAndGet();
+            return "other";
+        }));
+        while (singleFlight.getDeduplicated() == 0) {
+            Thread.onSpinWait();
+        }
+        releaseLoad.countDown();
+
+        // Then
+        assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loadCount.get());
+        assertEquals(1, singleFlight.getLoads());
+        assertEquals(1, singleFlight.getDeduplicated());
+        executor.shutdown();
+    }
+
+    @DisplayName("Waiting longer than the bound should load independently")
+    @Test
+    void execute_WaitExceedsBound_ShouldLoadIndependently() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager, 10);
+        CountDownLatch loadStarted = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<String> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+            loadStarted.countDown();
+            await(releaseLoad);
+            return "slow";
+        }));
+        loadStarted.await(5, TimeUnit.SECONDS);
+
+        // When
+        String result = singleFlight.execute("key", () -> "fast");
+        releaseLoad.countDown();
+
+        // Then
+        assertEquals("fast", result);
+        assertEquals("slow", leader.get(5, TimeUnit.SECONDS));
+        assertEquals(1, singleFlight.getTimeouts());
+        executor.shutdown();
+    }
+
+    @DisplayName("Failed load should be rethrown and release the key")
+    @Test
+    void execute_LoadFails_ShouldRethrowAndAllowRetry() {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(transactionManager, 5000);
+
+        // When
+        assertThrows(EntityNotFoundException.class, () -> singleFlight.execute("key", () -> {
+            throw new EntityNotFoundException("Can`t find book by id 1");
+        }));
+
+        // Then
+        assertEquals("value", singleFlight.execute("key", () -> "value"));
+        assertEquals(2, singleFlight.getLoads());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+INSERT INTO categories (id, name, description, is_deleted, deleted_at)
+VALUES (3001, 'Archive category 1', 'Live category', FALSE, NULL),
+       (3002, 'Archive category 2', 'Deleted category', TRUE, '2000-01-01 00:00:00'),
+       (3003, 'Archive category 3', 'Deleted category', TRUE, '2000-01-01 00:00:00'),
+       (3004, 'Archive category 4', 'Deleted category', TRUE, '2000-01-01 00:00:00'),
+       (3005, 'Archive category 5', 'Deleted category', TRUE, '2000-01-01 00:00:00'),
+       (3006, 'Archive category 6', 'Deleted category', TRUE, '2000-01-01 00:00:00');
+
+INSERT INTO books (id, title, author, isbn, price, description, cover_image, is_deleted,
+                   deleted_at)
+VALUES (3001, 'Unreferenced', 'Archive author', 'archive-isbn-1', 10, 'Description', 'Cover',
+        TRUE, '2000-01-01 00:00:00'),
+       (3002, 'In a cart', 'Archive author', 'archive-isbn-2', 10, 'Description', 'Cover',
+        TRUE, '2000-01-01 00:00:00'),
+       (3003, 'In an order', 'Archive author', 'archive-isbn-3', 10, 'Description', 'Cover',
+        TRUE, '2000-01-01 00:00:00'),
+       (3004, 'Live', 'Archive author', 'archive-isbn-4', 10, 'Description', 'Cover',
+        FALSE, NULL);
+
+INSERT INTO books_categories (book_id, category_id)
+VALUES (3001, 3001), (3004, 3002);
+
+INSERT INTO users (id, email, password, first_name, last_name, shipping_address, is_deleted,
+                   deleted_at)
+VALUES (3001, 'archive-live@example.com', 'password', 'Live', 'User', 'Address', FALSE, NULL),
+       (3002, 'archive-ordered@example.com', 'password', 'Ordered', 'User', 'Address', TRUE,
+        '2000-01-01 00:00:00'),
+       (3003, 'archive-idle@example.com', 'password', 'Idle', 'User', 'Address', TRUE,
+        '2000-01-01 00:00:00');
+
+INSERT INTO shopping_carts (id, user_id, is_deleted)
+VALUES (3001, 3001, FALSE), (3003, 3003, FALSE);
+
+INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
+VALUES (3001, 3001, 3002, 1), (3003, 3003, 3004, 1);
+
+INSERT INTO orders (id, user_id, status, total, order_date, shipping_address, is_deleted)
+VALUES (3001, 3002, 'COMPLETED', 10, '2000-01-01 00:00:00', 'Address', FALSE);
+
+INSERT INTO order_items (id, order_id, book_id, quantity, price, is_deleted)
+VALUES (3001, 3001, 3003, 1, 10, FALSE);
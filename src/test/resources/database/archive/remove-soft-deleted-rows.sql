@@ -0,0 +1,15 @@
+DELETE FROM order_items WHERE id = 3001;
+DELETE FROM orders WHERE id = 3001;
+DELETE FROM cart_items WHERE id IN (3001, 3003);
+DELETE FROM cart_items_archive WHERE id IN (3001, 3003);
+DELETE FROM shopping_carts WHERE id IN (3001, 3003);
+DELETE FROM shopping_carts_archive WHERE id IN (3001, 3003);
+DELETE FROM users WHERE id BETWEEN 3001 AND 3003;
+DELETE FROM users_archive WHERE id BETWEEN 3001 AND 3003;
+DELETE FROM books_categories WHERE book_id BETWEEN 3001 AND 3004;
+DELETE FROM books_categories_archive WHERE book_id BETWEEN 3001 AND 3004;
+DELETE FROM books WHERE id BETWEEN 3001 AND 3004;
+DELETE FROM books_archive WHERE id BETWEEN 3001 AND 3004;
+DELETE FROM categories WHERE id BETWEEN 3001 AND 3006;
+DELETE FROM categories_archive WHERE id BETWEEN 3001 AND 3006;
+DELETE FROM cache_invalidation_log WHERE entity_id BETWEEN 3001 AND 3006;
@@ -0,0 +1,13 @@
+INSERT INTO users (id, email, password, first_name, last_name, shipping_address)
+VALUES (2001, 'checkout@example.com', 'password', 'Checkout', 'User', 'Address');
+
+INSERT INTO shopping_carts (id, user_id) VALUES (2001, 2001);
+
+INSERT INTO books (id, title, author, isbn, price, description, cover_image)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20)
+SELECT 2000 + n, CONCAT('Checkout title ', n), 'Checkout author', CONCAT('checkout-isbn-', n),
+       10, 'Checkout description', 'Checkout cover' FROM seq;
+
+INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 20)
+SELECT 2000 + n, 2001, 2000 + n, 1 FROM seq;
@@ -0,0 +1,7 @@
+DELETE FROM order_items WHERE order_id IN (SELECT id FROM orders WHERE user_id = 2001);
+DELETE FROM orders WHERE user_id = 2001;
+DELETE FROM user_order_counts WHERE user_id = 2001;
+DELETE FROM cart_items WHERE shopping_cart_id = 2001;
+DELETE FROM shopping_carts WHERE id = 2001;
+DELETE FROM books WHERE id > 2000 AND id <= 2020;
+DELETE FROM users WHERE id = 2001;
@@ -0,0 +1,36 @@
+INSERT INTO categories (id, name, description)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 50)
+SELECT 1000 + n, CONCAT('Plan category ', n), 'Plan description' FROM seq;
+
+INSERT INTO books (id, title, author, isbn, price, description, cover_image)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT 1000 + n, CONCAT('Plan title ', n), CONCAT('Plan author ', n % 200),
+       CONCAT('plan-isbn-', n), 10 + n % 50, 'Plan description', 'Plan cover' FROM seq;
+
+INSERT INTO books_categories (book_id, category_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT 1000 + n, 1001 + n % 50 FROM seq;
+
+INSERT INTO users (id, email, password, first_name, last_name, shipping_address)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200)
+SELECT 1000 + n, CONCAT('plan', n, '@example.com'), 'password', 'Plan', 'User', 'Address'
+FROM seq;
+
+INSERT INTO shopping_carts (id, user_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 200)
+SELECT 1000 + n, 1000 + n FROM seq;
+
+INSERT INTO cart_items (id, shopping_cart_id, book_id, quantity)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT 1000 + n, 1001 + n % 200, 1001 + n % 1000, 1 FROM seq;
+
+INSERT INTO orders (id, user_id, status, total, order_date, shipping_address)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT 1000 + n, 1001 + n % 200, 'PENDING', 10, NOW(), 'Address' FROM seq;
+
+INSERT INTO order_items (id, order_id, book_id, quantity, price)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000)
+SELECT 1000 + n, 1000 + n, 1001 + n % 1000, 1, 10 FROM seq;
+
+ANALYZE TABLE categories, books, books_categories, users, shopping_carts, cart_items, orders,
+    order_items;